@@ -0,0 +1,31 @@
+package sh.fountain.fountain.api.command;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Marks a command handler whose body runs on a worker thread instead of the server thread
+ *
+ * <p>Arguments are parsed and permissions are checked on the server thread before the handler is invoked.
+ * The handler must not access the Bukkit API unless it is thread safe. It may return a {@link CompletionStage}
+ * which is awaited without blocking the server thread. A returned {@link String} or
+ * {@link net.kyori.adventure.text.Component}, or the value of a returned stage, is sent to the sender as reply,
+ * and exceptions are handled like exceptions of synchronous handlers. Both happen on the server thread.</p>
+ *
+ * <p>Handlers returning a {@link CompletionStage} without this annotation are invoked on the server thread,
+ * but their result is delivered the same way.</p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncHandler {
+    /**
+     * The maximum number of invocations of the command by a single sender which may be running at the same time
+     * <p>Further invocations are rejected until one of them has completed.</p>
+     */
+    int maxPerSender() default 1;
+}
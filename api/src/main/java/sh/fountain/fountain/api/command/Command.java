@@ -37,11 +37,23 @@ public @interface Command {
      */
     String name();
 
+    /**
+     * Alternative in-game names of the command
+     * <p>Names and aliases of subcommands are matched case-insensitively.
+     * Aliases of root commands are declared in the generated {@code plugin.yml} and matched by the server.</p>
+     */
+    String[] aliases() default {};
+
     /**
      * The permission required by any user to execute the command
      */
     String permission() default "";
 
+    /**
+     * The cooldown of the command, none by default
+     */
+    Cooldown cooldown() default @Cooldown(millis = 0);
+
     /**
      * A short summary of what the command does
      */
@@ -16,5 +16,15 @@ import java.lang.annotation.Target;
 public @interface CompositeCommand {
     String name();
 
+    /**
+     * Alternative in-game names of the command, see {@link Command#aliases()}
+     */
+    String[] aliases() default {};
+
     String permission() default "";
+
+    /**
+     * The cooldown shared by all subcommands, see {@link Command#cooldown()}
+     */
+    Cooldown cooldown() default @Cooldown(millis = 0);
 }
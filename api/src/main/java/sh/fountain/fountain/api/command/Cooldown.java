@@ -0,0 +1,32 @@
+package sh.fountain.fountain.api.command;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits how often a single player may use a command, see {@link Command#cooldown()}
+ * <p>Every player has a bucket of {@link #burst()} uses, which refills by one use every {@link #millis()}
+ * milliseconds. Uses are taken from the bucket before the arguments are parsed, and are rejected while it is empty.
+ * Senders which are no entities, like the console, are never limited.</p>
+ */
+@Documented
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cooldown {
+    /**
+     * The milliseconds to refill a single use, {@code 0} to disable the cooldown
+     */
+    long millis();
+
+    /**
+     * The number of uses which may follow each other without waiting
+     */
+    int burst() default 1;
+
+    /**
+     * The permission exempting its holders from the cooldown
+     */
+    String bypassPermission() default "";
+}
@@ -0,0 +1,28 @@
+package sh.fountain.fountain.api.command;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Adds a subcommand showing the usage and latency of the plugin's commands to a {@link CompositeCommand}
+ * <p>The subcommand lists the invocations, parse failures and permission denials of every command,
+ * and the median, 99th percentile and maximum of the time it took to run them.
+ * It takes an optional argument to only show the commands starting with it.</p>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MetricsSubcommand {
+    /**
+     * The in-game name of the subcommand
+     */
+    String name() default "metrics";
+
+    /**
+     * The permission required to show the metrics
+     */
+    String permission();
+}
@@ -0,0 +1,20 @@
+package sh.fountain.fountain.api.dependency_injection;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables eager injection for the annotated plugin class
+ *
+ * <p>By default injectables are constructed lazily, ie. when they are requested for the first time.
+ * With eager injection all injectables are constructed when the plugin is loaded. Injectables which do not depend on each other
+ * are constructed in parallel, injectables annotated with {@link MainThreadOnly} are constructed on the server thread.</p>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EagerInjection {
+}
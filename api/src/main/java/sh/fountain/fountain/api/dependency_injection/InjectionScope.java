@@ -0,0 +1,28 @@
+package sh.fountain.fountain.api.dependency_injection;
+
+/**
+ * The lifetime of values provided by a dependency injector
+ *
+ * @see Scoped
+ */
+public enum InjectionScope {
+    /**
+     * One value is constructed and shared by everyone
+     */
+    SINGLETON,
+
+    /**
+     * A new value is constructed every time one is requested
+     */
+    PROTOTYPE,
+
+    /**
+     * One value is constructed per player and dropped once the player leaves the server
+     */
+    PLAYER,
+
+    /**
+     * One value is constructed per command invocation and dropped once the command handler returns
+     */
+    COMMAND_INVOCATION
+}
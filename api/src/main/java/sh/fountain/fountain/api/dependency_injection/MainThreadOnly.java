@@ -0,0 +1,20 @@
+package sh.fountain.fountain.api.dependency_injection;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an injectable class whose constructor must run on the server thread
+ *
+ * <p>Only relevant for plugins using {@link EagerInjection}, eg. if the constructor accesses the Bukkit API.
+ * For plugins using {@link sh.fountain.fountain.api.plugin_actions.ParallelActions} plugin actions marked with this
+ * annotation are executed on the server thread as well.</p>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MainThreadOnly {
+}
@@ -0,0 +1,32 @@
+package sh.fountain.fountain.api.dependency_injection;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the scope of an injectable class, injectables without this annotation are singletons
+ *
+ * <p>A value may only depend on values which live at least as long as itself, eg. a singleton or prototype may not
+ * depend on a {@link InjectionScope#PLAYER} scoped value. Such dependencies are reported and fail when the plugin is
+ * enabled. Values of scope {@link InjectionScope#PLAYER} and {@link InjectionScope#COMMAND_INVOCATION} can only be requested while a player or a command invocation is known,
+ * eg. by command handlers or {@code FountainPlugin#inject(Class, Player)}.</p>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scoped {
+    /**
+     * the scope of the annotated class
+     */
+    InjectionScope value();
+
+    /**
+     * the maximum number of players a {@link InjectionScope#PLAYER} scoped value is kept for
+     *
+     * <p>When exceeded the value of the least recently used player is dropped. Ignored for other scopes.</p>
+     */
+    int maximumSize() default 1000;
+}
@@ -0,0 +1,21 @@
+package sh.fountain.fountain.api.plugin;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the classpath scan of the annotated plugin class alive for the lifetime of the plugin
+ *
+ * <p>By default the scan provided by the runtime's {@code ReflectionsProvider} is released once the plugin has been enabled,
+ * since the framework itself only needs a compact index of the plugin's components afterwards.
+ * Requesting the scan after it has been released scans the classpath again.
+ * Plugins querying the scan repeatedly at runtime should retain it instead.</p>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetainClasspathScan {
+}
@@ -0,0 +1,21 @@
+package sh.fountain.fountain.api.plugin_actions;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables parallel execution of plugin actions for the annotated plugin class
+ *
+ * <p>By default the actions of a phase run one after another on the server thread, ordered by {@link RunsAfter}.
+ * With parallel actions, actions which are not ordered relative to each other run in parallel on a worker pool.
+ * Actions annotated with {@link sh.fountain.fountain.api.dependency_injection.MainThreadOnly} still run on the server
+ * thread, eg. if they access the Bukkit API. The phase completes once all of its actions have completed.</p>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ParallelActions {
+}
@@ -0,0 +1,11 @@
+package sh.fountain.fountain.api.plugin_actions;
+
+/**
+ * An action warming up the plugin in the background, eg. preloading caches or precomputing lookup tables
+ *
+ * <p>Warm-up actions are started once the plugin has been enabled and run on a background executor,
+ * thus the server does not wait for them. Use {@link WarmupReadiness} to check or wait for their completion.</p>
+ */
+public interface PluginWarmupAction {
+    void onPluginWarmup() throws Exception;
+}
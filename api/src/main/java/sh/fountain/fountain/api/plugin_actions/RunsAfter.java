@@ -0,0 +1,23 @@
+package sh.fountain.fountain.api.plugin_actions;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Orders the annotated plugin action after other actions of the same phase
+ *
+ * <p>The action is started only once all actions of the phase which are assignable to any of the given types have
+ * completed, whether they succeeded or failed. Types without any action in the phase are ignored.</p>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RunsAfter {
+    /**
+     * The actions, or supertypes of the actions, to run after
+     */
+    Class<?>[] value();
+}
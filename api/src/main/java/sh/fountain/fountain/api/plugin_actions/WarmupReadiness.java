@@ -0,0 +1,40 @@
+package sh.fountain.fountain.api.plugin_actions;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The progress of the {@link PluginWarmupAction}s of a plugin
+ *
+ * <p>Commands and listeners depending on the results of a warm-up action may check if it has completed,
+ * or wait for it. Completing the returned futures has no effect on the warm-up.</p>
+ */
+@Injectable
+public interface WarmupReadiness {
+    /**
+     * Returns a future completing once all warm-up actions have completed
+     *
+     * @return the future, completed exceptionally if any warm-up action failed
+     */
+    CompletableFuture<Void> all();
+
+    /**
+     * Returns a future completing once a warm-up action has completed
+     *
+     * @param action the warm-up action
+     * @return the future, completed exceptionally with the reason if the action failed
+     * @throws IllegalArgumentException if {@code action} is no warm-up action of the plugin
+     */
+    CompletableFuture<Void> of(Class<? extends PluginWarmupAction> action);
+
+    /**
+     * Returns if all warm-up actions have completed successfully
+     *
+     * @return if the plugin is warmed up
+     */
+    default boolean isReady() {
+        final var all = all();
+        return all.isDone() && !all.isCompletedExceptionally();
+    }
+}
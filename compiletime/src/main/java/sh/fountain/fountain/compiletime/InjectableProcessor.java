@@ -0,0 +1,177 @@
+package sh.fountain.fountain.compiletime;
+
+import sh.fountain.fountain.api.command.Command;
+import sh.fountain.fountain.api.command.CompositeCommand;
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin.Plugin;
+import sh.fountain.fountain.api.plugin_actions.PluginDisableAction;
+import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
+import sh.fountain.fountain.api.plugin_actions.PluginLoadAction;
+import sh.fountain.fountain.api.plugin_actions.PluginWarmupAction;
+import sh.fountain.fountain.compiletime.component_index.ComponentFactorySource;
+import sh.fountain.fountain.compiletime.component_index.ComponentIndexBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a {@code ComponentFactory} for every concrete {@link Injectable} type and lists them in a component index
+ * <p>The index is written to {@code META-INF/fountain/<root>.index} where {@code <root>} is the package of the
+ * {@link Plugin} class, or the value of the {@value #COMPONENT_ROOT_OPTION} option if it is passed to the compiler.
+ * Besides the factories the index lists all injectable types, the types declaring {@link Command} handlers,
+ * all {@link CompositeCommand} types, all Bukkit listeners and all plugin actions.
+ * The runtime uses the index instead of scanning the classpath for these.</p>
+ */
+@SupportedSourceVersion(SourceVersion.RELEASE_17)
+@SupportedOptions(InjectableProcessor.COMPONENT_ROOT_OPTION)
+public class InjectableProcessor extends AbstractProcessor {
+    public static final String COMPONENT_ROOT_OPTION = "fountain.componentRoot";
+    private static final String LISTENER_TYPE = "org.bukkit.event.Listener";
+
+    private Filer filer;
+    private Elements elements;
+    private Types types;
+    private Optional<String> componentRoot = Optional.empty();
+    private final ComponentIndexBuilder index = new ComponentIndexBuilder();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment environment) {
+        super.init(environment);
+        filer = environment.getFiler();
+        elements = environment.getElementUtils();
+        types = environment.getTypeUtils();
+        componentRoot = Optional.ofNullable(environment.getOptions().get(COMPONENT_ROOT_OPTION));
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment environment) {
+        if (componentRoot.isEmpty()) {
+            componentRoot = environment.getElementsAnnotatedWith(Plugin.class)
+                    .stream()
+                    .findFirst()
+                    .map(e -> elements.getPackageOf(e).getQualifiedName().toString());
+        }
+
+        final var injectables = ElementFilter.typesIn(environment.getElementsAnnotatedWith(Injectable.class));
+        injectables.forEach(type -> index.add(ComponentIndexBuilder.INJECTABLE, binaryName(type)));
+        indexComponents(environment);
+
+        injectables.stream()
+                .filter(this::usesConstructor)
+                .forEach(type -> {
+                    validateInjectable(type);
+
+                    final var source = new ComponentFactorySource(type, elements);
+                    try (final var writer = filer.createSourceFile(source.qualifiedName(), type).openWriter()) {
+                        writer.write(source.render());
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+
+                    index.addFactory(source.qualifiedName());
+                });
+
+        if (environment.processingOver() && componentRoot.isPresent()) {
+            final var path = "META-INF/fountain/%s.index".formatted(componentRoot.get());
+            try (final var writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", path).openWriter()) {
+                writer.write(index.build());
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        // other processors (eg. YamlProcessor) still need to see @Plugin
+        return false;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(Injectable.class.getCanonicalName(), Plugin.class.getCanonicalName(),
+                Command.class.getCanonicalName(), CompositeCommand.class.getCanonicalName());
+    }
+
+    private void indexComponents(RoundEnvironment environment) {
+        ElementFilter.methodsIn(environment.getElementsAnnotatedWith(Command.class))
+                .forEach(method -> index.add(ComponentIndexBuilder.COMMAND,
+                        binaryName((TypeElement) method.getEnclosingElement())));
+
+        ElementFilter.typesIn(environment.getElementsAnnotatedWith(CompositeCommand.class))
+                .forEach(type -> index.add(ComponentIndexBuilder.COMPOSITE_COMMAND, binaryName(type)));
+
+        final var listenerType = Optional.ofNullable(elements.getTypeElement(LISTENER_TYPE));
+        final var actionTypes = Stream.of(PluginLoadAction.class, PluginEnableAction.class, PluginDisableAction.class,
+                        PluginWarmupAction.class)
+                .map(action -> elements.getTypeElement(action.getCanonicalName()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        allTypes(ElementFilter.typesIn(environment.getRootElements())).forEach(type -> {
+            // private listeners are registered by their enclosing class, they can never be injected
+            if (listenerType.isPresent() && isSubtype(type, listenerType.get())
+                    && !type.getModifiers().contains(Modifier.PRIVATE)) {
+                index.add(ComponentIndexBuilder.LISTENER, binaryName(type));
+            }
+            if (actionTypes.stream().anyMatch(action -> isSubtype(type, action))) {
+                index.add(ComponentIndexBuilder.ACTION, binaryName(type));
+            }
+        });
+    }
+
+    private Stream<TypeElement> allTypes(Collection<TypeElement> roots) {
+        return roots.stream().flatMap(type -> Stream.concat(Stream.of(type),
+                allTypes(ElementFilter.typesIn(type.getEnclosedElements()))));
+    }
+
+    private boolean isSubtype(TypeElement type, TypeElement superType) {
+        return !type.equals(superType)
+                && types.isAssignable(types.erasure(type.asType()), types.erasure(superType.asType()));
+    }
+
+    private String binaryName(TypeElement type) {
+        return elements.getBinaryName(type).toString();
+    }
+
+    private boolean usesConstructor(TypeElement type) {
+        return (type.getKind().equals(ElementKind.CLASS) || type.getKind().equals(ElementKind.RECORD))
+                && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && type.getAnnotation(Injectable.class).useConstructor();
+    }
+
+    private void validateInjectable(TypeElement type) {
+        final var name = type.getQualifiedName().toString();
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            throw new IllegalArgumentException("Injectable %s must be public".formatted(name));
+        }
+        if (type.getNestingKind().equals(NestingKind.MEMBER) && !type.getModifiers().contains(Modifier.STATIC)) {
+            throw new IllegalArgumentException("Injectable %s must be a static nested class".formatted(name));
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new IllegalArgumentException("Injectable %s may not be generic".formatted(name));
+        }
+        if (ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .filter(c -> c.getModifiers().contains(Modifier.PUBLIC))
+                .count() != 1) {
+            throw new IllegalArgumentException("Injectable %s must have exactly one public constructor".formatted(name));
+        }
+    }
+}
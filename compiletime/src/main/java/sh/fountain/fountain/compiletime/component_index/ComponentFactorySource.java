@@ -0,0 +1,139 @@
+package sh.fountain.fountain.compiletime.component_index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+
+/**
+ * The java source of a {@code ComponentFactory} that invokes an injectables public constructor directly
+ */
+public class ComponentFactorySource {
+    private static final String GENERATOR = "sh.fountain.fountain.compiletime.InjectableProcessor";
+    private static final String FACTORY_INTERFACE = "sh.fountain.fountain.runtime.dependency_injection.ComponentFactory";
+    private static final String TOKEN_CLASS = "sh.fountain.fountain.runtime.dependency_injection.InjectionToken";
+
+    private final TypeElement type;
+    private final String packageName;
+    private final String simpleName;
+
+    public ComponentFactorySource(TypeElement type, Elements elements) {
+        this.type = type;
+        this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+
+        final var names = new ArrayList<String>();
+        for (var element = type; element != null; element = enclosingType(element)) {
+            names.add(0, element.getSimpleName().toString());
+        }
+        this.simpleName = String.join("_", names) + "_ComponentFactory";
+    }
+
+    public String qualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    public String render() {
+        final var typeName = type.getQualifiedName().toString();
+        final var parameters = constructor().getParameters().stream().map(p -> p.asType()).toList();
+
+        final var dependencies = parameters.stream()
+                .map(this::renderToken)
+                .map(t -> "\n                " + t)
+                .collect(Collectors.joining(","));
+
+        final var arguments = IntStream.range(0, parameters.size())
+                .mapToObj(i -> "\n                (%s) dependencies[%d]".formatted(renderType(parameters.get(i)), i))
+                .collect(Collectors.joining(","));
+
+        return """
+                %s
+                @javax.annotation.processing.Generated("%s")
+                public final class %s implements %s<%s> {
+                    @Override
+                    public java.lang.Class<%s> type() {
+                        return %s.class;
+                    }
+
+                    @Override
+                    public java.util.List<%s<?>> dependencies() {
+                        return java.util.List.of(%s);
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public %s create(java.lang.Object[] dependencies) throws java.lang.Exception {
+                        return new %s(%s);
+                    }
+                }
+                """.formatted(
+                packageName.isEmpty() ? "" : "package " + packageName + ";\n",
+                GENERATOR,
+                simpleName, FACTORY_INTERFACE, typeName,
+                typeName,
+                typeName,
+                TOKEN_CLASS, dependencies,
+                typeName,
+                typeName, arguments);
+    }
+
+    private ExecutableElement constructor() {
+        return ElementFilter.constructorsIn(type.getEnclosedElements())
+                .stream()
+                .filter(c -> c.getModifiers().contains(Modifier.PUBLIC))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String renderToken(TypeMirror parameter) {
+        final var typeName = renderType(parameter);
+        return typeName.contains("<")
+                ? "new %s<%s>() {}".formatted(TOKEN_CLASS, typeName)
+                : "%s.forType(%s.class)".formatted(TOKEN_CLASS, typeName);
+    }
+
+    private static String renderType(TypeMirror mirror) {
+        if (mirror instanceof DeclaredType declared) {
+            final var name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+            final List<? extends TypeMirror> arguments = declared.getTypeArguments();
+
+            return arguments.isEmpty()
+                    ? name
+                    : arguments.stream()
+                            .map(ComponentFactorySource::renderType)
+                            .collect(Collectors.joining(", ", name + "<", ">"));
+
+        } else if (mirror instanceof ArrayType array) {
+            return renderType(array.getComponentType()) + "[]";
+
+        } else if (mirror instanceof WildcardType wildcard) {
+            if (wildcard.getExtendsBound() != null) {
+                return "? extends " + renderType(wildcard.getExtendsBound());
+            } else if (wildcard.getSuperBound() != null) {
+                return "? super " + renderType(wildcard.getSuperBound());
+            } else {
+                return "?";
+            }
+
+        } else if (mirror instanceof TypeVariable variable) {
+            return renderType(variable.getUpperBound());
+
+        } else {
+            // primitives are not injectable, the runtime reports them once the token is created
+            return mirror.getKind().name().toLowerCase();
+        }
+    }
+
+    private static TypeElement enclosingType(TypeElement element) {
+        return element.getEnclosingElement() instanceof TypeElement enclosing ? enclosing : null;
+    }
+}
@@ -0,0 +1,48 @@
+package sh.fountain.fountain.compiletime.component_index;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Collects the entries of a component index and renders them in the line based index format
+ * <p>Every line of the index has the form {@code <section> <binary class name>}.</p>
+ */
+public class ComponentIndexBuilder {
+    public static final String FACTORY = "factory";
+    public static final String INJECTABLE = "injectable";
+    public static final String COMMAND = "command";
+    public static final String COMPOSITE_COMMAND = "composite";
+    public static final String LISTENER = "listener";
+    public static final String ACTION = "action";
+
+    private static final List<String> SECTIONS = List.of(FACTORY, INJECTABLE, COMMAND, COMPOSITE_COMMAND, LISTENER, ACTION);
+
+    private final Map<String, Set<String>> sections = new TreeMap<>();
+
+    public String build() {
+        final var index = new StringBuilder();
+        for (final var section : SECTIONS) {
+            sections.getOrDefault(section, Set.of())
+                    .forEach(name -> index.append(section).append(' ').append(name).append('\n'));
+        }
+
+        return index.toString();
+    }
+
+    public void addFactory(String binaryName) {
+        add(FACTORY, binaryName);
+    }
+
+    /**
+     * Adds an entry to a section of the index
+     *
+     * @param section the section, one of the constants of this class
+     * @param binaryName the binary name of the class
+     */
+    public void add(String section, String binaryName) {
+        sections.computeIfAbsent(section, s -> new TreeSet<>()).add(binaryName);
+    }
+}
@@ -44,7 +44,8 @@ public class PluginYamlModelBuilder {
                 : Optional.of(command.permission());
 
         commands.put(command.name(),
-                new CommandYamlModel(Optional.empty(), List.of(), permission, Optional.empty(), Optional.empty()));
+                new CommandYamlModel(Optional.empty(), List.of(command.aliases()), permission, Optional.empty(),
+                        Optional.empty()));
     }
 
     public void addCommand(CompositeCommand command) {
@@ -53,7 +54,8 @@ public class PluginYamlModelBuilder {
                 : Optional.of(command.permission());
 
         commands.put(command.name(),
-                new CommandYamlModel(Optional.empty(), List.of(), permission, Optional.empty(), Optional.empty()));
+                new CommandYamlModel(Optional.empty(), List.of(command.aliases()), permission, Optional.empty(),
+                        Optional.empty()));
     }
 
     public void addPluginMetaData(Plugin plugin) {
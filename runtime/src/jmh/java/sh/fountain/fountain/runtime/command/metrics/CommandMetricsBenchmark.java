@@ -0,0 +1,50 @@
+package sh.fountain.fountain.runtime.command.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead {@link CommandMetrics} add to every dispatched invocation, ie. counting the invocation,
+ * reading the clock twice and recording the latency
+ * <p>{@link #clockOnly()} is the baseline of reading the clock without recording anything.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandMetricsBenchmark {
+    private final CommandMetrics metrics = new CommandMetricsRegistry().metricsFor("game team join");
+
+    @Benchmark
+    public long clockOnly() {
+        final var start = System.nanoTime();
+        return System.nanoTime() - start;
+    }
+
+    @Benchmark
+    public void recordInvocation() {
+        final var start = System.nanoTime();
+        metrics.recordInvocation();
+        metrics.recordLatency(System.nanoTime() - start);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordInvocationContended() {
+        final var start = System.nanoTime();
+        metrics.recordInvocation();
+        metrics.recordLatency(System.nanoTime() - start);
+    }
+}
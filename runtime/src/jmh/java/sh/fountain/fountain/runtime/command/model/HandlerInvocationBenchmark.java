@@ -0,0 +1,83 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares invoking a command handler with a sender binding the way {@link SingleCommandModel} used to,
+ * collecting the parsed arguments in a list and copying it to insert the sender before {@link Method#invoke},
+ * with the bound {@link HandlerInvoker}
+ * <p>The allocations per invocation are reported by the {@code gc} profiler as {@code gc.alloc.rate.norm}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerInvocationBenchmark {
+    public static class Handler {
+        public int handle(String name, CommandSender sender, Integer amount) {
+            return name.length() + amount;
+        }
+    }
+
+    private final Handler instance = new Handler();
+    private final Optional<Integer> senderBindingPos = Optional.of(1);
+    private final List<Object> parsedValues = List.of("diamond", 16);
+    private final CommandSender sender = null;
+    private Method handler;
+    private HandlerInvoker invoker;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        handler = Handler.class.getMethod("handle", String.class, CommandSender.class, Integer.class);
+        invoker = HandlerInvoker.bind(handler, senderBindingPos);
+    }
+
+    @Benchmark
+    public Object reflectiveInvocation() throws Exception {
+        final var parsedArgs = new ArrayList<>();
+        for (final var value : parsedValues) {
+            parsedArgs.add(value);
+        }
+
+        final var args = senderBindingPos.map(pos -> {
+            final var before = parsedArgs.subList(0, pos);
+            final var after = parsedArgs.subList(pos, parsedArgs.size());
+
+            final var allArgs = new ArrayList<>(before);
+            allArgs.add(sender);
+            allArgs.addAll(after);
+
+            return allArgs;
+        }).orElse(parsedArgs).toArray();
+
+        return handler.invoke(instance, args);
+    }
+
+    @Benchmark
+    public Object boundInvoker() throws Exception {
+        final var args = invoker.newArguments(sender);
+        for (var i = 0; i < parsedValues.size(); ++i) {
+            args[invoker.argumentSlot(i)] = parsedValues.get(i);
+        }
+
+        return invoker.invoke(instance, args);
+    }
+}
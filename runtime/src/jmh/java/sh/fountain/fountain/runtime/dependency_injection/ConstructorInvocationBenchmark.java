@@ -0,0 +1,77 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares constructing a component reflectively, the way {@link ConstructorValueProvider} used to,
+ * with the precompiled {@link java.lang.invoke.MethodHandle} invoker
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructorInvocationBenchmark {
+    @Injectable
+    public static class Dependency {
+    }
+
+    @Injectable
+    public static class Component {
+        private final Dependency first;
+        private final Dependency second;
+        private final Optional<Dependency> third;
+
+        public Component(Dependency first, Dependency second, Optional<Dependency> third) {
+            this.first = first;
+            this.second = second;
+            this.third = third;
+        }
+    }
+
+    private ConstructorValueProvider<Component> provider;
+    private Object[] args;
+
+    @Setup
+    public void setup() {
+        provider = new ConstructorValueProvider<>(Component.class, new DependencyInjector());
+        final var dependency = new Dependency();
+        args = new Object[] {dependency, dependency, Optional.of(dependency)};
+    }
+
+    @Benchmark
+    public Object reflectiveConstructor() throws Exception {
+        final var tokens = new ArrayList<InjectionToken<?>>();
+        for (final var parameter : Component.class.getConstructors()[0].getParameters()) {
+            tokens.add(InjectionToken.forType(parameter.getParameterizedType()));
+        }
+
+        final var arguments = new ArrayList<>();
+        for (var i = 0; i < tokens.size(); ++i) {
+            arguments.add(args[i]);
+        }
+
+        return Component.class.getConstructors()[0].newInstance(arguments.toArray());
+    }
+
+    @Benchmark
+    public Object methodHandleInvoker() {
+        provider.dependencies();
+        return provider.construct(args);
+    }
+}
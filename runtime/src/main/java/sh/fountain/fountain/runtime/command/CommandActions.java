@@ -2,27 +2,41 @@ package sh.fountain.fountain.runtime.command;
 
 import sh.fountain.fountain.api.command.UnhandledExceptionStrategy;
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.dependency_injection.MainThreadOnly;
 import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
+import sh.fountain.fountain.runtime.command.bukkit_interop.BrigadierServer;
 import sh.fountain.fountain.runtime.command.bukkit_interop.BukkitServer;
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsRegistry;
 import sh.fountain.fountain.runtime.command.model.CommandModelFactory;
 import sh.fountain.fountain.runtime.command.model.DefaultUnhandledExceptionStrategy;
+import sh.fountain.fountain.runtime.command.model.PermissionSnapshotRegistry;
+import sh.fountain.fountain.runtime.command.registration.RegistrationService;
+import sh.fountain.fountain.runtime.component_index.PluginComponents;
 import sh.fountain.fountain.runtime.dependency_injection.DependencyInjector;
 import sh.fountain.fountain.runtime.dependency_injection.InjectionToken;
 import sh.fountain.fountain.runtime.plugin.FountainPlugin;
-import sh.fountain.fountain.runtime.reflection.ReflectionsProvider;
+import sh.fountain.fountain.runtime.startup.StartupTimeline;
 
 import java.util.Optional;
 
 @Injectable
+@MainThreadOnly
 public class CommandActions implements PluginEnableAction {
     private final DependencyInjector injector;
-    private final ReflectionsProvider reflectionsProvider;
+    private final PluginComponents components;
     private final FountainPlugin plugin;
+    private final StartupTimeline timeline;
+    private final CommandMetricsRegistry metrics;
+    private final PermissionSnapshotRegistry permissionSnapshots;
 
-    public CommandActions(DependencyInjector injector, ReflectionsProvider reflectionsProvider, FountainPlugin plugin) {
+    public CommandActions(DependencyInjector injector, PluginComponents components, FountainPlugin plugin,
+            StartupTimeline timeline, CommandMetricsRegistry metrics, PermissionSnapshotRegistry permissionSnapshots) {
         this.injector = injector;
-        this.reflectionsProvider = reflectionsProvider;
+        this.components = components;
         this.plugin = plugin;
+        this.timeline = timeline;
+        this.metrics = metrics;
+        this.permissionSnapshots = permissionSnapshots;
     }
 
     @Override
@@ -32,9 +46,15 @@ public class CommandActions implements PluginEnableAction {
         final var exceptionStrategy = injector
                 .valueFor(new InjectionToken<Optional<UnhandledExceptionStrategy>>() {})
                 .orElse(new DefaultUnhandledExceptionStrategy());
-        final var registrar = new BukkitServer(plugin);
+        // clients parse and complete the commands locally on Paper
+        final RegistrationService registrar = BrigadierServer.isSupported()
+                ? new BrigadierServer(plugin, metrics, permissionSnapshots)
+                : new BukkitServer(plugin, metrics, permissionSnapshots);
 
-        final var buildResult = factory.fromReflections(reflectionsProvider.reflections());
+        final CommandModelFactory.BuildResult buildResult;
+        try (final var span = timeline.begin("command model build")) {
+            buildResult = factory.fromComponents(components);
+        }
 
         buildResult.errors().forEach((symbol, exception) -> {
             plugin.getLogger()
@@ -43,7 +63,7 @@ public class CommandActions implements PluginEnableAction {
         });
 
         for (final var command : buildResult.commands()) {
-            try {
+            try (final var span = timeline.begin("command registration", command.name())) {
                 registrar.register(command, exceptionStrategy);
 
             } catch (Exception exception) {
@@ -0,0 +1,152 @@
+package sh.fountain.fountain.runtime.command.bukkit_interop;
+
+import sh.fountain.fountain.api.command.SenderBinding;
+import sh.fountain.fountain.api.command.SynopsisName;
+import sh.fountain.fountain.runtime.command.model.CommandModel;
+import sh.fountain.fountain.runtime.command.model.CompositeCommandModel;
+import sh.fountain.fountain.runtime.command.model.SingleCommandModel;
+import sh.fountain.fountain.runtime.command.parsing.ArgumentParser;
+import sh.fountain.fountain.runtime.command.parsing.DoubleArgumentParser;
+import sh.fountain.fountain.runtime.command.parsing.IntArgumentParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.BooleanParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.CollectionParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.EnumParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.OptionalParser;
+import com.destroystokyo.paper.brigadier.BukkitBrigadierCommand;
+import com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Converts a {@link CommandModel} tree into a Brigadier node tree, which is sent to clients to parse and complete
+ * commands locally
+ * <p>Subcommands and their aliases become literals, just like the constants of enum arguments. {@code int}, {@code double}
+ * and {@code boolean} arguments become typed arguments. Any other argument, and repeated arguments, become a greedy
+ * argument spanning the remaining input, completed by the server. Every executable node executes the Bukkit command,
+ * so invocations are still parsed and handled by the {@link CommandAdapter}.</p>
+ */
+final class BrigadierCommandTree<S extends BukkitBrigadierCommandSource> {
+    private final BukkitBrigadierCommand<S> bukkitCommand;
+
+    private BrigadierCommandTree(BukkitBrigadierCommand<S> bukkitCommand) {
+        this.bukkitCommand = bukkitCommand;
+    }
+
+    /**
+     * Builds the node of a command
+     *
+     * @param <S> the type of command source
+     * @param label the label the command is registered with
+     * @param command the command
+     * @param bukkitCommand the Bukkit command wrapped by Paper, checking its permission and executing it
+     * @return the node
+     */
+    static <S extends BukkitBrigadierCommandSource> LiteralCommandNode<S> build(String label, CommandModel command,
+            BukkitBrigadierCommand<S> bukkitCommand) {
+        final var root = LiteralArgumentBuilder.<S>literal(label).requires(bukkitCommand);
+        new BrigadierCommandTree<>(bukkitCommand).addCommand(root, command);
+        return root.build();
+    }
+
+    private void addCommand(ArgumentBuilder<S, ?> node, CommandModel command) {
+        command.permission().ifPresent(permission -> node.requires(node.getRequirement()
+                .and(source -> source.getBukkitSender().hasPermission(permission))));
+
+        if (command instanceof CompositeCommandModel composite) {
+            for (final var subcommand : composite.subcommands().values()) {
+                final var names = new ArrayList<String>();
+                names.add(subcommand.name());
+                names.addAll(subcommand.aliases());
+
+                for (final var name : names) {
+                    final var literal = LiteralArgumentBuilder.<S>literal(name);
+                    addCommand(literal, subcommand);
+                    node.then(literal);
+                }
+            }
+
+        } else if (command instanceof SingleCommandModel single) {
+            addArguments(node, single.parsers(), argumentNames(single), 0);
+        }
+    }
+
+    private void addArguments(ArgumentBuilder<S, ?> node, List<? extends ArgumentParser<?>> parsers, List<String> names,
+            int index) {
+        if (index == parsers.size()) {
+            node.executes(bukkitCommand);
+            return;
+        }
+
+        var parser = parsers.get(index);
+        if (parser instanceof OptionalParser<?> optional) {
+            node.executes(bukkitCommand);
+            parser = optional.itemParser();
+        }
+
+        final var type = argumentType(parser);
+        if (parser instanceof EnumParser<?> enumParser) {
+            for (final var constant : enumParser.enumType().getEnumConstants()) {
+                final var literal = LiteralArgumentBuilder.<S>literal(constant.name().toLowerCase());
+                addArguments(literal, parsers, names, index + 1);
+                node.then(literal);
+            }
+
+        } else if (type.isPresent()) {
+            final var argument = RequiredArgumentBuilder.<S, Object>argument(names.get(index), type.get());
+            addArguments(argument, parsers, names, index + 1);
+            node.then(argument);
+
+        } else {
+            // the server parses and completes the remaining arguments
+            if (parser instanceof CollectionParser<?, ?>) {
+                node.executes(bukkitCommand);
+            }
+            node.then(RequiredArgumentBuilder.<S, String>argument(names.get(index), StringArgumentType.greedyString())
+                    .suggests(bukkitCommand)
+                    .executes(bukkitCommand));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<ArgumentType<Object>> argumentType(ArgumentParser<?> parser) {
+        final ArgumentType<?> type;
+        if (parser instanceof IntArgumentParser) {
+            type = IntegerArgumentType.integer();
+        } else if (parser instanceof DoubleArgumentParser) {
+            type = DoubleArgumentType.doubleArg();
+        } else if (parser instanceof BooleanParser) {
+            type = BoolArgumentType.bool();
+        } else {
+            return Optional.empty();
+        }
+
+        return Optional.of((ArgumentType<Object>) type);
+    }
+
+    private static List<String> argumentNames(SingleCommandModel command) {
+        final var parameters = Arrays.stream(command.handler().getParameters())
+                .filter(parameter -> !parameter.isAnnotationPresent(SenderBinding.class))
+                .toList();
+
+        final var names = new ArrayList<String>();
+        for (var i = 0; i < parameters.size(); ++i) {
+            names.add(Optional.ofNullable(parameters.get(i).getAnnotation(SynopsisName.class))
+                    .map(SynopsisName::value)
+                    .orElse("arg" + i));
+        }
+
+        return names;
+    }
+}
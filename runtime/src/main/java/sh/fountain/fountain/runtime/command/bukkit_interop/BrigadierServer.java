@@ -0,0 +1,80 @@
+package sh.fountain.fountain.runtime.command.bukkit_interop;
+
+import sh.fountain.fountain.api.command.UnhandledExceptionStrategy;
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsRegistry;
+import sh.fountain.fountain.runtime.command.model.CommandModel;
+import sh.fountain.fountain.runtime.command.model.PermissionSnapshotRegistry;
+import sh.fountain.fountain.runtime.command.registration.RegistrationException;
+import sh.fountain.fountain.runtime.command.registration.RegistrationService;
+import sh.fountain.fountain.runtime.plugin.FountainPlugin;
+import com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource;
+import com.destroystokyo.paper.event.brigadier.CommandRegisteredEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registers commands like {@link BukkitServer} and additionally replaces their node in Paper's Brigadier tree
+ * <p>Paper announces every command added to its Brigadier tree with a {@link CommandRegisteredEvent}, eg. when
+ * the commands are synchronized once the server has started. The node of a registered command is replaced by
+ * the {@linkplain BrigadierCommandTree node tree of its model} for all labels it is registered with.</p>
+ */
+public class BrigadierServer implements RegistrationService {
+    private static final String REGISTERED_EVENT = "com.destroystokyo.paper.event.brigadier.CommandRegisteredEvent";
+
+    private final FountainPlugin plugin;
+    private final BukkitServer bukkitServer;
+    private final Map<PluginCommand, CommandModel> commands = new ConcurrentHashMap<>();
+
+    public BrigadierServer(FountainPlugin plugin, CommandMetricsRegistry metrics,
+            PermissionSnapshotRegistry permissionSnapshots) {
+        this.plugin = plugin;
+        this.bukkitServer = new BukkitServer(plugin, metrics, permissionSnapshots);
+        Bukkit.getPluginManager().registerEvents(new CommandRegisteredListener(), plugin);
+    }
+
+    /**
+     * Returns if the server announces Brigadier registrations, ie. is Paper
+     *
+     * @return if a {@link BrigadierServer} may be used
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName(REGISTERED_EVENT, false, BrigadierServer.class.getClassLoader());
+            return true;
+
+        } catch (ClassNotFoundException exception) {
+            return false;
+        }
+    }
+
+    @Override
+    public void register(CommandModel command, UnhandledExceptionStrategy exceptionStrategy)
+            throws RegistrationException {
+        bukkitServer.register(command, exceptionStrategy);
+        commands.put(plugin.getCommand(command.name()), command);
+    }
+
+    // kept private so the server is neither indexed nor mistaken for a listener component of the plugin
+    private final class CommandRegisteredListener implements Listener {
+        @EventHandler
+        public void onCommandRegistered(CommandRegisteredEvent<BukkitBrigadierCommandSource> event) {
+            if (!(event.getCommand() instanceof PluginCommand pluginCommand) || !commands.containsKey(pluginCommand)) {
+                return;
+            }
+
+            try {
+                event.setLiteral(BrigadierCommandTree.build(event.getCommandLabel(), commands.get(pluginCommand),
+                        event.getBrigadierCommand()));
+
+            } catch (Exception exception) {
+                plugin.getLogger().warning("Failed to build the Brigadier tree of command %s: %s"
+                        .formatted(event.getCommandLabel(), exception.getMessage()));
+            }
+        }
+    }
+}
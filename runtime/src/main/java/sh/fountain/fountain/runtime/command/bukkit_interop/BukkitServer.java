@@ -1,8 +1,10 @@
 package sh.fountain.fountain.runtime.command.bukkit_interop;
 
 import sh.fountain.fountain.api.command.UnhandledExceptionStrategy;
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsRegistry;
 import sh.fountain.fountain.runtime.command.model.CommandModel;
 import sh.fountain.fountain.runtime.command.model.DescriptionVisitor;
+import sh.fountain.fountain.runtime.command.model.PermissionSnapshotRegistry;
 import sh.fountain.fountain.runtime.command.model.SynopsisVisitor;
 import sh.fountain.fountain.runtime.command.registration.RegistrationException;
 import sh.fountain.fountain.runtime.command.registration.RegistrationService;
@@ -16,9 +18,14 @@ import java.util.stream.Collectors;
 
 public class BukkitServer implements RegistrationService {
     private final FountainPlugin plugin;
+    private final CommandMetricsRegistry metrics;
+    private final PermissionSnapshotRegistry permissionSnapshots;
 
-    public BukkitServer(FountainPlugin plugin) {
+    public BukkitServer(FountainPlugin plugin, CommandMetricsRegistry metrics,
+            PermissionSnapshotRegistry permissionSnapshots) {
         this.plugin = plugin;
+        this.metrics = metrics;
+        this.permissionSnapshots = permissionSnapshots;
     }
 
     @Override
@@ -27,7 +34,8 @@ public class BukkitServer implements RegistrationService {
         try {
             final var bukkitCommand = plugin.getCommand(command.name());
 
-            bukkitCommand.setExecutor(new CommandAdapter(command, exceptionStrategy));
+            bukkitCommand.setExecutor(new CommandAdapter(command, exceptionStrategy, metrics,
+                    permissionSnapshots));
 
             command.permission().ifPresent(bukkitCommand::setPermission);
 
@@ -2,7 +2,12 @@ package sh.fountain.fountain.runtime.command.bukkit_interop;
 
 import sh.fountain.fountain.api.command.UnhandledExceptionStrategy;
 import sh.fountain.fountain.runtime.chat_component.ErrorComponent;
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsRegistry;
+import sh.fountain.fountain.runtime.command.model.CommandDispatcher;
 import sh.fountain.fountain.runtime.command.model.CommandModel;
+import sh.fountain.fountain.runtime.command.model.PermissionSnapshotRegistry;
+import sh.fountain.fountain.runtime.command.model.SenderBusy;
+import sh.fountain.fountain.runtime.command.model.SenderOnCooldown;
 import sh.fountain.fountain.runtime.command.model.SenderUnauthorized;
 import sh.fountain.fountain.runtime.command.parsing.NoSuchPlayerException;
 import sh.fountain.fountain.runtime.command.parsing.ParseException;
@@ -16,32 +21,58 @@ import org.bukkit.command.TabCompleter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 public class CommandAdapter implements CommandExecutor, TabCompleter {
     private static final Component SYNTAX_ERROR_MESSAGE = ErrorComponent.text("Command invalid! Usage:")
             .color(NamedTextColor.RED);
     private static final Component AUTHORIZATION_ERROR_MESSAGE = ErrorComponent
             .text("You are not authorized to use this command!").color(NamedTextColor.RED);
+    private static final Component BUSY_ERROR_MESSAGE = ErrorComponent
+            .text("Please wait until your previous use of this command has completed!");
 
     private final CommandModel command;
+    private final CommandDispatcher dispatcher;
     private final UnhandledExceptionStrategy exceptionStrategy;
 
-    public CommandAdapter(CommandModel command, UnhandledExceptionStrategy exceptionStrategy) {
+    public CommandAdapter(CommandModel command, UnhandledExceptionStrategy exceptionStrategy,
+            CommandMetricsRegistry metrics, PermissionSnapshotRegistry permissionSnapshots) {
 
         this.command = command;
+        this.dispatcher = CommandDispatcher.compile(command, metrics, permissionSnapshots);
         this.exceptionStrategy = exceptionStrategy;
     }
 
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command bukkitCommand,
             @NotNull String commandLabel, String[] args) {
-        final var argList = List.of(args);
         try {
-            command.run(sender, argList);
+            final var completion = dispatcher.dispatch(sender, args);
+            if (completion != CommandModel.COMPLETED) {
+                // asynchronous handlers complete on the server thread
+                completion.whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        exceptionStrategy.handleException(sender, command.name(), List.of(args),
+                                throwable instanceof CompletionException && throwable.getCause() != null
+                                        ? throwable.getCause()
+                                        : throwable);
+                    }
+                });
+            }
 
         } catch (SenderUnauthorized exception) {
             sender.sendMessage(AUTHORIZATION_ERROR_MESSAGE);
 
+        } catch (SenderBusy exception) {
+            sender.sendMessage(BUSY_ERROR_MESSAGE);
+
+        } catch (SenderOnCooldown exception) {
+            // rounded up, so waiting the announced time always suffices
+            final var seconds = (exception.remaining.toMillis() + 999) / 1000;
+            sender.sendMessage(ErrorComponent.text("Please wait ")
+                    .append(Component.text(seconds + "s").color(NamedTextColor.DARK_AQUA))
+                    .append(ErrorComponent.text(" before using this command again!")));
+
         } catch (NoSuchPlayerException exception) {
             final var errorMessage = ErrorComponent.text("Player ")
                     .append(Component.text(exception.badArg).color(NamedTextColor.DARK_AQUA))
@@ -54,7 +85,7 @@ public class CommandAdapter implements CommandExecutor, TabCompleter {
             sender.sendMessage(bukkitCommand.getUsage());
 
         } catch (Throwable throwable) {
-            exceptionStrategy.handleException(sender, command.name(), argList, throwable);
+            exceptionStrategy.handleException(sender, command.name(), List.of(args), throwable);
 
         }
 
@@ -64,6 +95,6 @@ public class CommandAdapter implements CommandExecutor, TabCompleter {
     @Override
     public @NotNull List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command bukkitCommand,
             @NotNull String alias, String[] args) {
-        return command.fuzzyTabCompletionFor(sender, List.of(args));
+        return dispatcher.fuzzyTabCompletionFor(sender, args);
     }
 }
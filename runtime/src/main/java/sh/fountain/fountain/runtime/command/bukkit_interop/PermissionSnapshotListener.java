@@ -0,0 +1,32 @@
+package sh.fountain.fountain.runtime.command.bukkit_interop;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.runtime.command.model.PermissionSnapshotRegistry;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Invalidates the {@link sh.fountain.fountain.runtime.command.model.PermissionSnapshots} of players whose commands
+ * are resent, which the server does after recalculating their permissions, and of players leaving the server
+ */
+@Injectable
+public class PermissionSnapshotListener implements Listener {
+    private final PermissionSnapshotRegistry registry;
+
+    public PermissionSnapshotListener(PermissionSnapshotRegistry registry) {
+        this.registry = registry;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerCommandSend(PlayerCommandSendEvent event) {
+        registry.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        registry.invalidate(event.getPlayer().getUniqueId());
+    }
+}
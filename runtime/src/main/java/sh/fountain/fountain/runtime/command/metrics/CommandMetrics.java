@@ -0,0 +1,62 @@
+package sh.fountain.fountain.runtime.command.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The usage and latency of a command
+ * <p>Invocations count every invocation resolved to the command, including the rejected ones. The latency covers
+ * parsing the arguments and running the handler, up to the completion of asynchronous handlers, of all invocations
+ * which have not been rejected.</p>
+ */
+public final class CommandMetrics {
+    private final String path;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder parseFailures = new LongAdder();
+    private final LongAdder permissionDenials = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    CommandMetrics(String path) {
+        this.path = path;
+    }
+
+    public void recordInvocation() {
+        invocations.increment();
+    }
+
+    public void recordParseFailure() {
+        parseFailures.increment();
+    }
+
+    public void recordPermissionDenial() {
+        permissionDenials.increment();
+    }
+
+    public void recordLatency(long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Returns the names of the command and the composite commands it is a subcommand of, separated by spaces
+     *
+     * @return the path, eg. {@code game team join}
+     */
+    public String path() {
+        return path;
+    }
+
+    public long invocations() {
+        return invocations.sum();
+    }
+
+    public long parseFailures() {
+        return parseFailures.sum();
+    }
+
+    public long permissionDenials() {
+        return permissionDenials.sum();
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+}
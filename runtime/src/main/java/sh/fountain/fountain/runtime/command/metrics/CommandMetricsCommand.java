@@ -0,0 +1,50 @@
+package sh.fountain.fountain.runtime.command.metrics;
+
+import sh.fountain.fountain.api.command.Command;
+import sh.fountain.fountain.api.command.MetricsSubcommand;
+import sh.fountain.fountain.api.command.SenderBinding;
+import sh.fountain.fountain.api.command.SynopsisName;
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+
+import java.util.Optional;
+
+/**
+ * The handler of {@link MetricsSubcommand}s
+ * <p>It is never registered as a command by itself, its name and permission are overridden by the annotation.</p>
+ */
+@Injectable
+public class CommandMetricsCommand {
+    private final CommandMetricsRegistry registry;
+
+    public CommandMetricsCommand(CommandMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Command(name = "metrics", description = "Shows the usage and latency of the commands")
+    public void showMetrics(@SenderBinding CommandSender sender, @SynopsisName("command") Optional<String> prefix) {
+        final var commands = registry.all().stream()
+                .filter(metrics -> prefix.map(metrics.path()::startsWith).orElse(true))
+                .toList();
+        if (commands.isEmpty()) {
+            sender.sendMessage(Component.text("No commands have been run yet").color(NamedTextColor.GRAY));
+            return;
+        }
+
+        for (final var metrics : commands) {
+            final var latency = metrics.latency();
+            sender.sendMessage(Component.text("/" + metrics.path()).color(NamedTextColor.DARK_AQUA)
+                    .append(Component.text(" %d runs, %d invalid, %d denied".formatted(metrics.invocations(),
+                            metrics.parseFailures(), metrics.permissionDenials())).color(NamedTextColor.GRAY))
+                    .append(Component.text(" p50 %s p99 %s max %s".formatted(
+                            millis(latency.valueAtQuantile(0.5)), millis(latency.valueAtQuantile(0.99)),
+                            millis(latency.max())))));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return "%.3fms".formatted(nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,51 @@
+package sh.fountain.fountain.runtime.command.metrics;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.runtime.dependency_injection.NotInherited;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link CommandMetrics} of all commands of a plugin, keyed by their {@linkplain CommandMetrics#path() path}
+ * <p>Every plugin records its own metrics, even if it uses a shared runtime.</p>
+ */
+@Injectable
+@NotInherited
+public final class CommandMetricsRegistry {
+    private final Map<String, CommandMetrics> commands = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the metrics of a command, creating them if the command has none yet
+     *
+     * @param path the path of the command
+     * @return the metrics
+     */
+    public CommandMetrics metricsFor(String path) {
+        return commands.computeIfAbsent(path, CommandMetrics::new);
+    }
+
+    /**
+     * Returns the metrics of a command
+     *
+     * @param path the path of the command
+     * @return the metrics, empty if the command has none
+     */
+    public Optional<CommandMetrics> of(String path) {
+        return Optional.ofNullable(commands.get(path));
+    }
+
+    /**
+     * Returns the metrics of all commands
+     *
+     * @return the metrics, ordered by path
+     */
+    public List<CommandMetrics> all() {
+        return commands.values().stream()
+                .sorted(Comparator.comparing(CommandMetrics::path))
+                .toList();
+    }
+}
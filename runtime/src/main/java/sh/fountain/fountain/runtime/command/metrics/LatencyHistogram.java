@@ -0,0 +1,100 @@
+package sh.fountain.fountain.runtime.command.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds with logarithmic buckets
+ * <p>Every power of two is split into eight linear buckets, so a value is reported at most 12.5% above its actual
+ * value. Values below eight are counted exactly. Recording increments a single bucket without locking or allocating,
+ * reading sums all buckets and is meant for occasional reports only.</p>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // powers of two from 2^3 to 2^62 are split, the values below 2^3 take one bucket each
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency
+     *
+     * @param nanos the latency, negative latencies are recorded as {@code 0}
+     */
+    public void record(long nanos) {
+        final var value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Returns the number of recorded latencies
+     *
+     * @return the count
+     */
+    public long count() {
+        var count = 0L;
+        for (var bucket = 0; bucket < BUCKETS; ++bucket) {
+            count += counts.get(bucket);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the latency below or at which a fraction of the recorded latencies lie
+     *
+     * @param quantile the fraction, eg. {@code 0.99} for the 99th percentile
+     * @return the upper bound of the bucket of the quantile, at most the maximum; {@code 0} if nothing was recorded
+     */
+    public long valueAtQuantile(double quantile) {
+        final var count = count();
+        if (count == 0) {
+            return 0;
+        }
+
+        final var rank = Math.max(1, (long) Math.ceil(quantile * count));
+        var seen = 0L;
+        for (var bucket = 0; bucket < BUCKETS; ++bucket) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), max());
+            }
+        }
+
+        return max();
+    }
+
+    /**
+     * Returns the highest recorded latency
+     *
+     * @return the maximum, {@code 0} if nothing was recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final var exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final var mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final var shift = bucket / SUB_BUCKETS - 1;
+        final var lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
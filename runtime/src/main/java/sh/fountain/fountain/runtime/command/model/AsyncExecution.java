@@ -0,0 +1,108 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the invocations of an asynchronous command handler and delivers their results on the server thread
+ * <p>The number of running invocations is bounded per sender, so a single sender cannot occupy all workers.</p>
+ */
+public final class AsyncExecution {
+    private final Executor workers;
+    private final Executor mainThread;
+    private final int maxPerSender;
+    private final Map<Object, Integer> running = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the execution of a handler
+     *
+     * @param workers the executor to run the handler on, may run it directly for handlers returning a stage
+     * @param mainThread the executor of the server thread
+     * @param maxPerSender the maximum number of running invocations per sender
+     * @throws IllegalArgumentException if {@code maxPerSender} is not positive
+     */
+    public AsyncExecution(Executor workers, Executor mainThread, int maxPerSender) {
+        if (maxPerSender < 1) {
+            throw new IllegalArgumentException("At least one invocation per sender must be allowed");
+        }
+
+        this.workers = workers;
+        this.mainThread = mainThread;
+        this.maxPerSender = maxPerSender;
+    }
+
+    /**
+     * Runs an invocation of the handler
+     *
+     * @param sender the sender of the invocation
+     * @param handler the invocation of the handler, returning a stage to wait for or the reply
+     * @return a stage completing on the server thread once the reply has been sent
+     * @throws SenderBusy if the sender already runs the maximum number of invocations
+     */
+    public CompletionStage<Void> submit(CommandSender sender, Callable<Object> handler) throws SenderBusy {
+        final var key = senderKey(sender);
+        if (running.merge(key, 1, Integer::sum) > maxPerSender) {
+            release(key);
+            throw new SenderBusy();
+        }
+
+        final CompletableFuture<Object> invocation;
+        try {
+            invocation = CompletableFuture.supplyAsync(() -> call(handler), workers);
+
+        } catch (RuntimeException exception) {
+            release(key);
+            throw exception;
+        }
+
+        return invocation
+                .thenCompose(result -> result instanceof CompletionStage<?> stage
+                        ? stage.<Object>thenApply(value -> value)
+                        : CompletableFuture.completedFuture(result))
+                .whenComplete((reply, throwable) -> release(key))
+                .handleAsync((reply, throwable) -> {
+                    if (throwable != null) {
+                        throw throwable instanceof CompletionException completion
+                                ? completion
+                                : new CompletionException(throwable);
+                    }
+
+                    if (reply instanceof Component component) {
+                        sender.sendMessage(component);
+                    } else if (reply instanceof String message) {
+                        sender.sendMessage(message);
+                    }
+                    return null;
+                }, mainThread);
+    }
+
+    public int maxPerSender() {
+        return maxPerSender;
+    }
+
+    private void release(Object key) {
+        running.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static Object call(Callable<Object> handler) {
+        try {
+            return handler.call();
+
+        } catch (Exception exception) {
+            throw new CompletionException(exception);
+        }
+    }
+
+    private static Object senderKey(CommandSender sender) {
+        return sender instanceof Entity entity ? entity.getUniqueId() : sender.getName();
+    }
+}
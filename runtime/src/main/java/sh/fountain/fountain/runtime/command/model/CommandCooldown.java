@@ -0,0 +1,198 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import sh.fountain.fountain.api.command.Cooldown;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The token buckets enforcing the {@link Cooldown} of a command, keyed by the UUID of the sender
+ * <p>A bucket only stores the time at which it will be full again. Taking a use advances that time by the refill
+ * interval, and is rejected if it would lie more than {@code burst - 1} intervals in the future. Buckets are updated
+ * by compare-and-set, so invocations never block each other. Full buckets are idle and removed periodically.</p>
+ * <p>The result of checking the bypass permission is cached in the bucket for a second, as resolving permissions
+ * walks all permission attachments of the sender.</p>
+ */
+public final class CommandCooldown {
+    private static final long PERMISSION_CACHE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final VarHandle NEXT_SWEEP;
+
+    static {
+        try {
+            NEXT_SWEEP = MethodHandles.lookup().findVarHandle(CommandCooldown.class, "nextSweep", long.class);
+
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private final long intervalNanos;
+    // how far the time the bucket is full again may lie in the future
+    private final long toleranceNanos;
+    private final Optional<String> bypassPermission;
+    private final LongSupplier clock;
+    private final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+    private volatile long nextSweep;
+
+    /**
+     * Creates the buckets of a command
+     *
+     * @param interval the time to refill a single use
+     * @param burst the number of uses a full bucket holds
+     * @param bypassPermission the permission exempting its holders, if any
+     * @throws IllegalArgumentException if {@code interval} or {@code burst} are not positive
+     */
+    public CommandCooldown(Duration interval, int burst, Optional<String> bypassPermission) {
+        this(interval, burst, bypassPermission, System::nanoTime);
+    }
+
+    CommandCooldown(Duration interval, int burst, Optional<String> bypassPermission, LongSupplier clock) {
+        if (interval.isNegative() || interval.isZero() || burst < 1) {
+            throw new IllegalArgumentException("Cooldowns require a positive interval and burst");
+        }
+
+        this.intervalNanos = interval.toNanos();
+        this.toleranceNanos = Math.multiplyExact(intervalNanos, burst - 1);
+        this.bypassPermission = bypassPermission;
+        this.clock = clock;
+        this.nextSweep = clock.getAsLong() + SWEEP_INTERVAL_NANOS;
+    }
+
+    /**
+     * Creates the buckets of a command annotated with a cooldown
+     *
+     * @param cooldown the annotated cooldown
+     * @return the buckets, empty if the cooldown is disabled
+     */
+    public static Optional<CommandCooldown> of(Cooldown cooldown) {
+        if (cooldown.millis() == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new CommandCooldown(Duration.ofMillis(cooldown.millis()), cooldown.burst(),
+                cooldown.bypassPermission().isEmpty() ? Optional.empty() : Optional.of(cooldown.bypassPermission())));
+    }
+
+    /**
+     * Takes a use from the bucket of a sender
+     *
+     * @param sender the sender of the invocation
+     * @throws SenderOnCooldown if the bucket of the sender is empty
+     */
+    public void acquire(CommandSender sender) throws SenderOnCooldown {
+        if (!(sender instanceof Entity entity)) {
+            return;
+        }
+
+        final var now = clock.getAsLong();
+        sweepIfDue(now);
+
+        final var key = entity.getUniqueId();
+        while (true) {
+            var bucket = buckets.get(key);
+            if (bucket == null) {
+                final var created = new Bucket(now);
+                bucket = Optional.ofNullable(buckets.putIfAbsent(key, created)).orElse(created);
+            }
+
+            if (isBypassed(bucket, sender, now)) {
+                return;
+            }
+
+            final var wait = bucket.take(now, intervalNanos, toleranceNanos);
+            if (wait > 0) {
+                throw new SenderOnCooldown(Duration.ofNanos(wait));
+            }
+
+            // a bucket swept while taking the use lost it, so it is taken again from the bucket replacing it
+            if (buckets.get(key) == bucket) {
+                return;
+            }
+        }
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private boolean isBypassed(Bucket bucket, CommandSender sender, long now) {
+        if (bypassPermission.isEmpty()) {
+            return false;
+        }
+
+        final var cached = bucket.permission;
+        if ((cached & ~1L) - now > 0) {
+            return (cached & 1L) == 1L;
+        }
+
+        final var bypassed = sender.hasPermission(bypassPermission.get());
+        bucket.permission = ((now + PERMISSION_CACHE_NANOS) & ~1L) | (bypassed ? 1L : 0L);
+        return bypassed;
+    }
+
+    private void sweepIfDue(long now) {
+        final var due = nextSweep;
+        // only the thread advancing the time of the next sweep sweeps
+        if (now - due < 0 || !NEXT_SWEEP.compareAndSet(this, due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private static final class Bucket {
+        private static final VarHandle FULL_AT;
+
+        static {
+            try {
+                FULL_AT = MethodHandles.lookup().findVarHandle(Bucket.class, "fullAt", long.class);
+
+            } catch (ReflectiveOperationException exception) {
+                throw new ExceptionInInitializerError(exception);
+            }
+        }
+
+        // the time at which all uses have been refilled
+        private volatile long fullAt;
+        // the expiry of the cached permission check, its lowest bit is the result
+        private volatile long permission;
+
+        private Bucket(long now) {
+            this.fullAt = now;
+            this.permission = now & ~1L;
+        }
+
+        /**
+         * Takes a use
+         *
+         * @return {@code 0} if the use has been taken, otherwise the nanoseconds until it is refilled
+         */
+        private long take(long now, long intervalNanos, long toleranceNanos) {
+            while (true) {
+                final var current = fullAt;
+                final var ahead = current - now;
+                if (ahead > toleranceNanos) {
+                    return ahead - toleranceNanos;
+                }
+
+                if (FULL_AT.compareAndSet(this, current, (ahead > 0 ? current : now) + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        private boolean isIdle(long now) {
+            return fullAt - now <= 0 && (permission & ~1L) - now <= 0;
+        }
+    }
+}
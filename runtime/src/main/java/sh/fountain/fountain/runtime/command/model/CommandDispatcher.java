@@ -0,0 +1,380 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import sh.fountain.fountain.runtime.command.metrics.CommandMetrics;
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsRegistry;
+import sh.fountain.fountain.runtime.command.parsing.ParseException;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link CommandModel} tree compiled into flat arrays for dispatching
+ * <p>Every node of the tree is numbered in pre-order. Composite nodes own a slice of an open addressing table mapping
+ * the names and aliases of their subcommands to node numbers. Keys are hashed and compared ignoring case,
+ * so resolving the handling {@link SingleCommandModel} of an invocation is a single pass over its arguments
+ * which allocates nothing. Running the resolved command parses its arguments from the same array, allocating only
+ * the cursor, the arguments of the handler and the parsed values. Completions view the arguments as a list,
+ * as completers expect one.</p>
+ * <p>Every dispatched invocation is recorded in the {@link CommandMetrics} of the node it has been resolved to,
+ * or of the composite node rejecting it.</p>
+ * <p>The distinct permissions of the tree are numbered, and checked against the {@link PermissionSnapshots} of the
+ * sender, so dispatching and completing commands does not resolve the sender's permissions again and again.</p>
+ */
+public final class CommandDispatcher {
+    private static final int NO_NODE = -1;
+
+    private final CommandModel[] nodes;
+    private final int[] depths;
+    private final CommandMetrics[] metrics;
+    // the numbers of the permissions of the nodes, -1 if the node requires none
+    private final int[] permissions;
+    private final PermissionSnapshots permissionSnapshots;
+    // the subcommand nodes of composite nodes, in the order they are completed
+    private final int[][] children;
+    // cooldowns of the nodes, null if the node has none
+    private final CommandCooldown[] cooldowns;
+    // offset of the table of a composite node into keys and targets, unused for single commands
+    private final int[] tableOffsets;
+    // the table size of a composite node minus one, -1 for single commands
+    private final int[] tableMasks;
+    private final String[] keys;
+    private final int[] targets;
+
+    private CommandDispatcher(Builder builder) {
+        this.nodes = builder.nodes.toArray(CommandModel[]::new);
+        this.depths = builder.depths.stream().mapToInt(Integer::intValue).toArray();
+        this.metrics = builder.metrics.toArray(CommandMetrics[]::new);
+        this.permissions = builder.permissions.stream().mapToInt(Integer::intValue).toArray();
+        this.permissionSnapshots = builder.permissionRegistry.create(List.copyOf(builder.permissionNumbers.keySet()));
+        this.children = builder.children.toArray(int[][]::new);
+        this.cooldowns = builder.cooldowns.toArray(CommandCooldown[]::new);
+        this.tableOffsets = builder.tableOffsets.stream().mapToInt(Integer::intValue).toArray();
+        this.tableMasks = builder.tableMasks.stream().mapToInt(Integer::intValue).toArray();
+        this.keys = builder.keys.toArray(String[]::new);
+        this.targets = builder.targets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Compiles a command tree
+     *
+     * @param command the root of the tree
+     * @return the dispatcher
+     * @throws IllegalArgumentException if two subcommands of a composite command share a name or alias ignoring case
+     */
+    public static CommandDispatcher compile(CommandModel command) {
+        return compile(command, new CommandMetricsRegistry(), new PermissionSnapshotRegistry());
+    }
+
+    /**
+     * Compiles a command tree recording its metrics
+     *
+     * @param command the root of the tree
+     * @param registry the registry to record the metrics of every node in
+     * @param permissionRegistry the registry to create the permission snapshots of the tree with
+     * @return the dispatcher
+     * @throws IllegalArgumentException if two subcommands of a composite command share a name or alias ignoring case
+     */
+    public static CommandDispatcher compile(CommandModel command, CommandMetricsRegistry registry,
+            PermissionSnapshotRegistry permissionRegistry) {
+        final var builder = new Builder(registry, permissionRegistry);
+        builder.add(command, command.name(), 0);
+        return new CommandDispatcher(builder);
+    }
+
+    /**
+     * Resolves and runs the single command handling an invocation
+     *
+     * @param sender the sender of the invocation
+     * @param args the arguments of the root command
+     * @return the stage of the command, see {@link CommandModel#run(CommandSender, List)}
+     * @throws Exception any exception of {@link #resolve(CommandSender, String[])} or of running the command
+     */
+    public CompletionStage<Void> dispatch(CommandSender sender, String[] args) throws Exception {
+        final var start = System.nanoTime();
+        var node = 0;
+        try {
+            while (tableMasks[node] >= 0) {
+                node = subcommandOf(node, sender, args);
+            }
+
+            // leaves are single commands, whose permission is checked against the snapshot instead
+            if (!isAllowed(sender, node)) {
+                throw new SenderUnauthorized();
+            }
+            final var completion = ((SingleCommandModel) nodes[node]).runAuthorized(sender, args, depths[node]);
+            final var nodeMetrics = metrics[node];
+            nodeMetrics.recordInvocation();
+            if (completion == CommandModel.COMPLETED) {
+                nodeMetrics.recordLatency(System.nanoTime() - start);
+            } else {
+                completion.whenComplete((result, throwable) -> nodeMetrics.recordLatency(System.nanoTime() - start));
+            }
+            return completion;
+
+        } catch (SenderUnauthorized exception) {
+            metrics[node].recordInvocation();
+            metrics[node].recordPermissionDenial();
+            throw exception;
+
+        } catch (ParseException exception) {
+            metrics[node].recordInvocation();
+            metrics[node].recordParseFailure();
+            throw exception;
+
+        } catch (SenderOnCooldown | SenderBusy exception) {
+            metrics[node].recordInvocation();
+            throw exception;
+
+        } catch (Exception exception) {
+            // failures of the handler
+            metrics[node].recordInvocation();
+            metrics[node].recordLatency(System.nanoTime() - start);
+            throw exception;
+        }
+    }
+
+    /**
+     * Resolves the single command handling an invocation
+     * <p>Checks the permissions and takes from the cooldowns of all composite commands on the path, those of
+     * the single command are checked when running it.</p>
+     *
+     * @param sender the sender of the invocation
+     * @param args the arguments of the root command
+     * @return the number of the node of the single command
+     * @throws SenderUnauthorized if the sender lacks the permission of a composite command on the path
+     * @throws SenderOnCooldown if a composite command on the path is on cooldown for the sender
+     * @throws ParseException if an argument names no subcommand
+     */
+    public int resolve(CommandSender sender, String[] args) throws SenderUnauthorized, SenderOnCooldown,
+            ParseException {
+        var node = 0;
+        while (tableMasks[node] >= 0) {
+            node = subcommandOf(node, sender, args);
+        }
+
+        return node;
+    }
+
+    /**
+     * Returns the completions of the last argument of an invocation
+     * <p>Subcommands are completed by the names of those the sender holds the permission of, the arguments of single
+     * commands by their completers.</p>
+     *
+     * @param sender the sender of the invocation
+     * @param args the arguments of the root command, the last one being completed
+     * @return the completions
+     */
+    public List<String> tabCompletionFor(CommandSender sender, String[] args) {
+        var node = 0;
+        while (tableMasks[node] >= 0) {
+            final var depth = depths[node];
+            if (args.length - depth <= 1) {
+                final var names = new ArrayList<String>();
+                for (final var child : children[node]) {
+                    if (isAllowed(sender, child)) {
+                        names.add(nodes[child].name());
+                    }
+                }
+
+                return names;
+            }
+
+            node = subcommand(node, args[depth]);
+            if (node == NO_NODE) {
+                return List.of();
+            }
+        }
+
+        return nodes[node].tabCompletionFor(sender, Arrays.asList(args).subList(depths[node], args.length));
+    }
+
+    /**
+     * Returns the completions of the last argument of an invocation which contain it or are similar to it,
+     * see {@link CommandModel#fuzzyTabCompletionFor(CommandSender, List)}
+     *
+     * @param sender the sender of the invocation
+     * @param args the arguments of the root command, the last one being completed
+     * @return the completions
+     */
+    public List<String> fuzzyTabCompletionFor(CommandSender sender, String[] args) {
+        if (args.length == 0) {
+            return List.of();
+        }
+
+        return CommandModel.fuzzyMatches(args[args.length - 1], tabCompletionFor(sender, args));
+    }
+
+    /**
+     * Returns the command of a node
+     *
+     * @param node the number of the node
+     * @return the command
+     */
+    public CommandModel command(int node) {
+        return nodes[node];
+    }
+
+    /**
+     * Returns the number of arguments naming the subcommands on the path to a node
+     *
+     * @param node the number of the node
+     * @return the number of arguments preceding the arguments of the node's command
+     */
+    public int depth(int node) {
+        return depths[node];
+    }
+
+    /**
+     * Returns the metrics of a node
+     *
+     * @param node the number of the node
+     * @return the metrics
+     */
+    public CommandMetrics metrics(int node) {
+        return metrics[node];
+    }
+
+    private int subcommandOf(int node, CommandSender sender, String[] args) throws SenderUnauthorized,
+            SenderOnCooldown, ParseException {
+        if (!isAllowed(sender, node)) {
+            throw new SenderUnauthorized();
+        }
+        if (cooldowns[node] != null) {
+            cooldowns[node].acquire(sender);
+        }
+
+        final var depth = depths[node];
+        if (depth == args.length) {
+            throw new ParseException("", "Invalid subcommand");
+        }
+
+        final var subcommand = subcommand(node, args[depth]);
+        if (subcommand == NO_NODE) {
+            throw new ParseException(args[depth], "Invalid subcommand");
+        }
+
+        return subcommand;
+    }
+
+    private boolean isAllowed(CommandSender sender, int node) {
+        final var permission = permissions[node];
+        return permission < 0 || permissionSnapshots.isAllowed(sender, permission);
+    }
+
+    private int subcommand(int node, String arg) {
+        final var offset = tableOffsets[node];
+        final var mask = tableMasks[node];
+
+        for (var slot = hashIgnoringCase(arg) & mask; ; slot = (slot + 1) & mask) {
+            final var key = keys[offset + slot];
+            if (key == null) {
+                return NO_NODE;
+            }
+            if (key.equalsIgnoreCase(arg)) {
+                return targets[offset + slot];
+            }
+        }
+    }
+
+    private static int hashIgnoringCase(String key) {
+        var hash = 0;
+        for (var i = 0; i < key.length(); ++i) {
+            // folds characters like String#equalsIgnoreCase compares them
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+
+        // spreads the high bits as the tables are small
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Builder {
+        private final CommandMetricsRegistry registry;
+        private final PermissionSnapshotRegistry permissionRegistry;
+        // interns the permissions of the tree, numbered in insertion order
+        private final Map<String, Integer> permissionNumbers = new LinkedHashMap<>();
+        private final List<CommandModel> nodes = new ArrayList<>();
+        private final List<Integer> depths = new ArrayList<>();
+        private final List<CommandMetrics> metrics = new ArrayList<>();
+        private final List<Integer> permissions = new ArrayList<>();
+        private final List<int[]> children = new ArrayList<>();
+        private final List<CommandCooldown> cooldowns = new ArrayList<>();
+        private final List<Integer> tableOffsets = new ArrayList<>();
+        private final List<Integer> tableMasks = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<Integer> targets = new ArrayList<>();
+
+        private Builder(CommandMetricsRegistry registry, PermissionSnapshotRegistry permissionRegistry) {
+            this.registry = registry;
+            this.permissionRegistry = permissionRegistry;
+        }
+
+        private int add(CommandModel command, String path, int depth) {
+            final var node = nodes.size();
+            nodes.add(command);
+            depths.add(depth);
+            metrics.add(registry.metricsFor(path));
+            permissions.add(command.permission()
+                    .map(permission -> permissionNumbers.computeIfAbsent(permission, p -> permissionNumbers.size()))
+                    .orElse(-1));
+            children.add(new int[0]);
+            cooldowns.add(command.cooldown().orElse(null));
+            tableOffsets.add(0);
+            tableMasks.add(-1);
+
+            if (command instanceof CompositeCommandModel composite) {
+                final var subcommands = List.copyOf(composite.subcommands().values());
+                final var subcommandNodes = new int[subcommands.size()];
+                for (var i = 0; i < subcommands.size(); ++i) {
+                    subcommandNodes[i] = add(subcommands.get(i), path + " " + subcommands.get(i).name(), depth + 1);
+                }
+
+                children.set(node, subcommandNodes);
+                addTable(node, composite, subcommands, subcommandNodes);
+            }
+
+            return node;
+        }
+
+        private void addTable(int node, CompositeCommandModel composite, List<CommandModel> subcommands,
+                int[] subcommandNodes) {
+            final var keyCount = subcommands.stream().mapToInt(c -> 1 + c.aliases().size()).sum();
+            // at most half full, so probing ends quickly on unknown arguments
+            final var size = Integer.highestOneBit(Math.max(1, keyCount) * 2 - 1) << 1;
+            final var offset = keys.size();
+            for (var i = 0; i < size; ++i) {
+                keys.add(null);
+                targets.add(NO_NODE);
+            }
+
+            tableOffsets.set(node, offset);
+            tableMasks.set(node, size - 1);
+
+            for (var i = 0; i < subcommands.size(); ++i) {
+                final var subcommand = subcommands.get(i);
+                final var names = new ArrayList<String>();
+                names.add(subcommand.name());
+                names.addAll(subcommand.aliases());
+
+                for (final var name : names) {
+                    var slot = hashIgnoringCase(name) & (size - 1);
+                    while (keys.get(offset + slot) != null) {
+                        if (keys.get(offset + slot).equalsIgnoreCase(name)) {
+                            throw new IllegalArgumentException("Subcommands %s and %s of %s are both named %s".formatted(
+                                    nodes.get(targets.get(offset + slot)).name(), subcommand.name(), composite.name(),
+                                    name));
+                        }
+                        slot = (slot + 1) & (size - 1);
+                    }
+
+                    keys.set(offset + slot, name);
+                    targets.set(offset + slot, subcommandNodes[i]);
+                }
+            }
+        }
+    }
+}
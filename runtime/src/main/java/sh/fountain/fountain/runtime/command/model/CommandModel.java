@@ -5,9 +5,25 @@ import org.bukkit.command.CommandSender;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 public sealed interface CommandModel permits CompositeCommandModel, SingleCommandModel {
-    void run(CommandSender sender, List<String> rawArgs) throws Exception;
+    /**
+     * The stage returned by commands which completed synchronously
+     */
+    CompletionStage<Void> COMPLETED = CompletableFuture.completedStage(null);
+
+    /**
+     * Runs the command
+     *
+     * @param sender the sender of the invocation
+     * @param rawArgs the arguments of the command
+     * @return a stage completing on the server thread once an {@linkplain AsyncExecution asynchronous} handler
+     *         has completed, or {@link #COMPLETED}
+     * @throws Exception if the command could not be run synchronously
+     */
+    CompletionStage<Void> run(CommandSender sender, List<String> rawArgs) throws Exception;
 
     List<String> tabCompletionFor(CommandSender sender, List<String> args);
 
@@ -15,18 +31,51 @@ public sealed interface CommandModel permits CompositeCommandModel, SingleComman
         final Optional<String> lastArg = args.isEmpty() ? Optional.empty()
                 : Optional.of(args.get(args.size() - 1));
 
-        return lastArg.map(
-                arg -> tabCompletionFor(sender, args)
-                        .stream()
-                        .filter(s -> s.toLowerCase().contains(arg.toLowerCase())
-                                || LevenshteinDistance.compare(arg, s) < 4)
-                        .toList())
+        return lastArg.map(arg -> fuzzyMatches(arg, tabCompletionFor(sender, args)))
                 .orElse(List.of());
     }
 
+    /**
+     * Returns the completions which contain an argument ignoring case, or are similar to it
+     *
+     * @param arg the argument being completed
+     * @param completions the completions of the argument
+     * @return the matching completions
+     */
+    static List<String> fuzzyMatches(String arg, List<String> completions) {
+        return completions.stream()
+                .filter(s -> s.toLowerCase().contains(arg.toLowerCase())
+                        || LevenshteinDistance.compare(arg, s) < 4)
+                .toList();
+    }
+
     String name();
 
+    /**
+     * Returns the alternative names of the command, matched case-insensitively like its name
+     *
+     * @return the aliases
+     */
+    List<String> aliases();
+
+    /**
+     * Returns if an argument names this command, ie. equals its name or one of its aliases ignoring case
+     *
+     * @param arg the argument
+     * @return if the argument names this command
+     */
+    default boolean isNamedBy(String arg) {
+        return name().equalsIgnoreCase(arg) || aliases().stream().anyMatch(arg::equalsIgnoreCase);
+    }
+
     Optional<String> permission();
 
+    /**
+     * Returns the cooldown limiting how often a single sender may use the command
+     *
+     * @return the cooldown, if any
+     */
+    Optional<CommandCooldown> cooldown();
+
     <T> T accept(CommandModelVisitor<T> visitor);
 }
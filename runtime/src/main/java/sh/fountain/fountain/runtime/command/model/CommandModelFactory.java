@@ -1,12 +1,20 @@
 package sh.fountain.fountain.runtime.command.model;
 
+import sh.fountain.fountain.api.command.AsyncHandler;
 import sh.fountain.fountain.api.command.Command;
 import sh.fountain.fountain.api.command.CompositeCommand;
+import sh.fountain.fountain.api.command.MetricsSubcommand;
 import sh.fountain.fountain.api.command.SenderBinding;
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+import sh.fountain.fountain.api.scheduling.TaskScheduler;
 import sh.fountain.fountain.runtime.command.completion.ArgumentCompleterFactory;
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsCommand;
 import sh.fountain.fountain.runtime.command.parsing.ArgumentParserFactory;
+import sh.fountain.fountain.runtime.component_index.PluginComponents;
 import sh.fountain.fountain.runtime.dependency_injection.DependencyInjector;
+import sh.fountain.fountain.runtime.dependency_injection.InjectionContext;
 import sh.fountain.fountain.runtime.dependency_injection.InjectionToken;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.reflections.Reflections;
 
@@ -15,9 +23,12 @@ import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -38,10 +49,14 @@ public class CommandModelFactory {
     }
 
     public BuildResult fromReflections(Reflections reflections) {
+        return fromComponents(PluginComponents.fromReflections(reflections));
+    }
+
+    public BuildResult fromComponents(PluginComponents components) {
         final var commands = new HashSet<CommandModel>();
         final var errors = new HashMap<String, Exception>();
 
-        reflections.getTypesAnnotatedWith(CompositeCommand.class)
+        components.compositeCommands()
                 .stream()
                 .filter(this::isRootCompositeCommandClass)
                 .forEach(t -> {
@@ -52,9 +67,11 @@ public class CommandModelFactory {
                     }
                 });
 
-        reflections.getMethodsAnnotatedWith(Command.class)
+        components.commandHandlers()
                 .stream()
                 .filter(m -> !isCompositeCommandClass(m.getDeclaringClass()))
+                // only added to composite commands by MetricsSubcommand
+                .filter(m -> !m.getDeclaringClass().equals(CommandMetricsCommand.class))
                 .forEach(m -> {
                     try {
                         commands.add(fromHandlerMethod(m));
@@ -79,26 +96,34 @@ public class CommandModelFactory {
                 .filter(t -> t.isAnnotationPresent(CompositeCommand.class))
                 .map(this::fromCompositeCommandClass);
 
-        final var allSubcommands = Stream.concat(singleSubcommands, compositeSubcommands)
+        final var metricsSubcommand = Optional.ofNullable(type.getAnnotation(MetricsSubcommand.class))
+                .map(this::fromMetricsSubcommand)
+                .stream();
+
+        final var allSubcommands = Stream.concat(Stream.concat(singleSubcommands, compositeSubcommands),
+                        metricsSubcommand)
                 .collect(Collectors.toMap(CommandModel::name, Function.identity()));
 
-        return new CompositeCommandModel(compositeInfo.name(), permission, allSubcommands);
+        return new CompositeCommandModel(compositeInfo.name(), List.of(compositeInfo.aliases()), permission,
+                CommandCooldown.of(compositeInfo.cooldown()), allSubcommands);
     }
 
     private CommandModel fromHandlerMethod(Method handler) {
-        Object instance = null;
-        if (!Modifier.isStatic(handler.getModifiers())) {
-            instance = injector.valueFor(InjectionToken.forType(handler.getDeclaringClass()));
-        }
-
-        final var parsers = parserFactory.fromMethod(handler);
-        final var completers = completerFactory.fromMethod(handler);
-
         final var handlerInfo = handler.getAnnotation(Command.class);
         final Optional<String> permission = handlerInfo.permission().equals("")
                 ? Optional.empty()
                 : Optional.of(handlerInfo.permission());
-        final var name = handler.getAnnotation(Command.class).name();
+
+        return fromHandlerMethod(handler, handlerInfo.name(), List.of(handlerInfo.aliases()), permission,
+                CommandCooldown.of(handlerInfo.cooldown()));
+    }
+
+    private CommandModel fromHandlerMethod(Method handler, String name, List<String> aliases,
+            Optional<String> permission, Optional<CommandCooldown> cooldown) {
+        final var instance = handlerInstance(handler);
+
+        final var parsers = parserFactory.fromMethod(handler);
+        final var completers = completerFactory.fromMethod(handler);
 
         Optional<Integer> senderBindingPos = Optional.empty();
 
@@ -114,8 +139,54 @@ public class CommandModelFactory {
             }
         }
 
-        return new SingleCommandModel(name, senderBindingPos, playerOnly, permission, parsers, completers, instance,
-                handler, isDeprecatedCommand(handler));
+        return new SingleCommandModel(name, aliases, senderBindingPos, playerOnly, permission, cooldown, parsers,
+                completers, instance, handler, HandlerInvoker.bind(handler, senderBindingPos),
+                asyncExecution(handler),
+                isDeprecatedCommand(handler));
+    }
+
+    private CommandModel fromMetricsSubcommand(MetricsSubcommand info) {
+        final Method handler;
+        try {
+            handler = CommandMetricsCommand.class.getMethod("showMetrics", CommandSender.class, Optional.class);
+
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        return fromHandlerMethod(handler, info.name(), List.of(), Optional.of(info.permission()), Optional.empty());
+    }
+
+    private Optional<AsyncExecution> asyncExecution(Method handler) {
+        final var asyncInfo = Optional.ofNullable(handler.getAnnotation(AsyncHandler.class));
+        if (asyncInfo.isEmpty() && !CompletionStage.class.isAssignableFrom(handler.getReturnType())) {
+            return Optional.empty();
+        }
+
+        final var scheduler = injector.valueFor(TaskScheduler.class);
+        // handlers only returning a stage are invoked on the server thread, the stage is awaited asynchronously
+        final Executor workers = asyncInfo.isPresent()
+                ? task -> scheduler.runTaskAsynchronously(task)
+                : Runnable::run;
+
+        return Optional.of(new AsyncExecution(workers, scheduler.getMainThreadExecutor(),
+                asyncInfo.map(AsyncHandler::maxPerSender).orElse(1)));
+    }
+
+    private Function<CommandSender, Object> handlerInstance(Method handler) {
+        if (Modifier.isStatic(handler.getModifiers())) {
+            return sender -> null;
+        }
+
+        final var token = InjectionToken.forType(handler.getDeclaringClass());
+        if (DependencyInjector.scopeOf(handler.getDeclaringClass()).equals(InjectionScope.SINGLETON)) {
+            final var instance = injector.valueFor(token);
+            return sender -> instance;
+        }
+
+        // handlers of other scopes are requested anew for every invocation
+        return sender -> injector.valueFor(token, InjectionContext.forCommandInvocation(
+                sender instanceof Player player ? Optional.of(player.getUniqueId()) : Optional.empty()));
     }
 
     private boolean isDeprecatedCommand(Class<?> type) {
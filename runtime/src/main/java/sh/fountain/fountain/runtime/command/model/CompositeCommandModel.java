@@ -7,21 +7,26 @@ import org.bukkit.command.CommandSender;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
-public record CompositeCommandModel(String name, Optional<String> permission, Map<String, CommandModel> subcommands)
-        implements CommandModel {
+public record CompositeCommandModel(String name, List<String> aliases, Optional<String> permission,
+        Optional<CommandCooldown> cooldown, Map<String, CommandModel> subcommands) implements CommandModel {
 
     @Override
-    public void run(CommandSender sender, List<String> rawArgs) throws Exception {
+    public CompletionStage<Void> run(CommandSender sender, List<String> rawArgs) throws Exception {
         if (!permission.map(sender::hasPermission).orElse(true)) {
             throw new SenderUnauthorized();
         }
 
+        if (cooldown.isPresent()) {
+            cooldown.get().acquire(sender);
+        }
+
         if (rawArgs.size() == 0) {
             throw new ParseException("", "Invalid subcommand");
         }
 
-        subcommandByName(rawArgs.get(0))
+        return subcommandByName(rawArgs.get(0))
                 .orElseThrow(() -> new ParseException(rawArgs.get(0), "Invalid subcommand"))
                 .run(sender, rawArgs.subList(1, rawArgs.size()));
     }
@@ -46,12 +51,10 @@ public record CompositeCommandModel(String name, Optional<String> permission, Ma
     }
 
     private Optional<CommandModel> subcommandByName(String name) {
-
-        if (subcommands.containsKey(name)) {
-            return Optional.of(subcommands.get(name));
-        } else {
-            return Optional.empty();
-        }
+        return subcommands.values()
+                .stream()
+                .filter(c -> c.isNamedBy(name))
+                .findAny();
     }
 
 }
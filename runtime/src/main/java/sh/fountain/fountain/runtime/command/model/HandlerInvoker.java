@@ -0,0 +1,112 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import org.bukkit.command.CommandSender;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+
+/**
+ * A command handler bound once into a {@link MethodHandle} taking the handler instance and an argument array
+ * <p>The argument array has the arity of the handler. Parsed arguments are written straight into their slot,
+ * the slot of the sender binding is filled when the array is created.</p>
+ */
+public final class HandlerInvoker {
+    private static final int NO_SLOT = -1;
+
+    private final MethodHandle invoker;
+    private final int arity;
+    private final int senderSlot;
+    private final int[] argumentSlots;
+
+    private HandlerInvoker(MethodHandle invoker, int arity, int senderSlot, int[] argumentSlots) {
+        this.invoker = invoker;
+        this.arity = arity;
+        this.senderSlot = senderSlot;
+        this.argumentSlots = argumentSlots;
+    }
+
+    /**
+     * Binds a command handler
+     *
+     * @param handler the handler, must be public and declared by a public class
+     * @param senderBindingPos the parameter bound to the sender, if any
+     * @return the invoker
+     * @throws IllegalArgumentException if the handler is not accessible
+     */
+    public static HandlerInvoker bind(Method handler, Optional<Integer> senderBindingPos) {
+        final var arity = handler.getParameterCount();
+        final MethodHandle invoker;
+        try {
+            final var unreflected = MethodHandles.publicLookup().unreflect(handler);
+            // static handlers ignore the instance, so both kinds share one invocation type
+            final var withInstance = Modifier.isStatic(handler.getModifiers())
+                    ? MethodHandles.dropArguments(unreflected, 0, Object.class)
+                    : unreflected;
+
+            invoker = withInstance
+                    .asType(withInstance.type().changeParameterType(0, Object.class))
+                    .asSpreader(Object[].class, arity)
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+
+        } catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException("Command handler %s is not accessible".formatted(handler), exception);
+        }
+
+        final var senderSlot = senderBindingPos.orElse(NO_SLOT);
+        final var argumentSlots = new int[arity - (senderSlot == NO_SLOT ? 0 : 1)];
+        for (int slot = 0, argument = 0; slot < arity; ++slot) {
+            if (slot != senderSlot) {
+                argumentSlots[argument++] = slot;
+            }
+        }
+
+        return new HandlerInvoker(invoker, arity, senderSlot, argumentSlots);
+    }
+
+    /**
+     * Creates the argument array of an invocation
+     *
+     * @param sender the sender of the invocation, written to the slot of the sender binding
+     * @return the argument array
+     */
+    public Object[] newArguments(CommandSender sender) {
+        final var arguments = new Object[arity];
+        if (senderSlot != NO_SLOT) {
+            arguments[senderSlot] = sender;
+        }
+
+        return arguments;
+    }
+
+    /**
+     * Returns the slot of a parsed argument in the argument array
+     *
+     * @param parser the index of the argument's parser
+     * @return the slot
+     */
+    public int argumentSlot(int parser) {
+        return argumentSlots[parser];
+    }
+
+    /**
+     * Invokes the handler
+     *
+     * @param instance the instance to invoke the handler on, ignored for static handlers
+     * @param arguments the arguments created by {@link #newArguments(CommandSender)}
+     * @return the result of the handler, {@code null} for void handlers
+     * @throws InvocationTargetException wrapping any exception thrown by the handler, like {@link Method#invoke}
+     */
+    public Object invoke(Object instance, Object[] arguments) throws InvocationTargetException {
+        try {
+            return (Object) invoker.invokeExact(instance, arguments);
+
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin_actions.PluginDisableAction;
+import sh.fountain.fountain.runtime.dependency_injection.NotInherited;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link PermissionSnapshots} of all command trees of a plugin, so they can be invalidated together
+ * <p>Every plugin keeps its own trees, even if it uses a shared runtime. They are dropped once the plugin is disabled.</p>
+ */
+@Injectable
+@NotInherited
+public final class PermissionSnapshotRegistry implements PluginDisableAction {
+    private final Set<PermissionSnapshots> trees = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the snapshots of a command tree
+     *
+     * @param permissions the distinct permissions of the tree, numbered by their index
+     * @return the snapshots
+     */
+    public PermissionSnapshots create(List<String> permissions) {
+        final var snapshots = new PermissionSnapshots(permissions, System::nanoTime);
+        trees.add(snapshots);
+        return snapshots;
+    }
+
+    /**
+     * Drops the snapshots of a player in all command trees
+     *
+     * @param player the UUID of the player
+     */
+    public void invalidate(UUID player) {
+        trees.forEach(snapshots -> snapshots.invalidate(player));
+    }
+
+    @Override
+    public void onPluginDisable() {
+        trees.clear();
+    }
+
+    int treeCount() {
+        return trees.size();
+    }
+}
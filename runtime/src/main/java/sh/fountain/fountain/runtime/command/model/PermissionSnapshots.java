@@ -0,0 +1,77 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches which of the permissions of a command tree players hold
+ * <p>The distinct permissions of the tree are numbered. The first check of a player resolves all of them at once into
+ * a bitset, which answers all further checks of dispatching and completing commands until it is invalidated,
+ * eg. when the server resends the commands of the player after its permissions have been recalculated, or when
+ * the player quits. Snapshots expire after a few seconds, bounding how long permissions changed without resending the
+ * commands are ignored. Other senders are not cached.</p>
+ */
+public final class PermissionSnapshots {
+    private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final String[] permissions;
+    private final LongSupplier clock;
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    PermissionSnapshots(List<String> permissions, LongSupplier clock) {
+        this.permissions = permissions.toArray(String[]::new);
+        this.clock = clock;
+    }
+
+    private record Snapshot(long[] allowed, long expiresAt) {
+    }
+
+    /**
+     * Returns if a sender holds a permission
+     *
+     * @param sender the sender
+     * @param permission the number of the permission
+     * @return if the sender holds the permission
+     */
+    public boolean isAllowed(CommandSender sender, int permission) {
+        if (!(sender instanceof Player player)) {
+            return sender.hasPermission(permissions[permission]);
+        }
+
+        final var now = clock.getAsLong();
+        var snapshot = snapshots.get(player.getUniqueId());
+        if (snapshot == null || snapshot.expiresAt() - now <= 0) {
+            snapshot = resolve(player, now);
+            snapshots.put(player.getUniqueId(), snapshot);
+        }
+
+        return (snapshot.allowed()[permission >>> 6] & (1L << permission)) != 0;
+    }
+
+    /**
+     * Drops the snapshot of a player
+     *
+     * @param player the UUID of the player
+     */
+    public void invalidate(UUID player) {
+        snapshots.remove(player);
+    }
+
+    private Snapshot resolve(Player player, long now) {
+        final var allowed = new long[(permissions.length + Long.SIZE - 1) / Long.SIZE];
+        for (var permission = 0; permission < permissions.length; ++permission) {
+            if (player.hasPermission(permissions[permission])) {
+                allowed[permission >>> 6] |= 1L << permission;
+            }
+        }
+
+        return new Snapshot(allowed, now + MAX_AGE_NANOS);
+    }
+}
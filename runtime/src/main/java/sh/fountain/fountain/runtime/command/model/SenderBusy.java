@@ -0,0 +1,5 @@
+package sh.fountain.fountain.runtime.command.model;
+
+public class SenderBusy extends Exception {
+
+}
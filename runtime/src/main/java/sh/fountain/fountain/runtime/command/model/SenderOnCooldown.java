@@ -0,0 +1,11 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import java.time.Duration;
+
+public class SenderOnCooldown extends Exception {
+    public final Duration remaining;
+
+    public SenderOnCooldown(Duration remaining) {
+        this.remaining = remaining;
+    }
+}
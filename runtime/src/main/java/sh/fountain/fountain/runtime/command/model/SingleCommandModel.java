@@ -2,6 +2,7 @@ package sh.fountain.fountain.runtime.command.model;
 
 import sh.fountain.fountain.api.command.ArgumentCompleter;
 import sh.fountain.fountain.runtime.chat_component.ErrorComponent;
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
 import sh.fountain.fountain.runtime.command.parsing.ArgumentParser;
 import sh.fountain.fountain.runtime.command.parsing.ParseException;
 
@@ -9,21 +10,26 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 public record SingleCommandModel(
         String name,
+        List<String> aliases,
         Optional<Integer> senderBindingPos,
         boolean playerOnly,
         Optional<String> permission,
+        Optional<CommandCooldown> cooldown,
         List<? extends ArgumentParser<?>> parsers,
         List<Optional<ArgumentCompleter>> completers,
-        Object instance,
+        Function<CommandSender, Object> instance,
         Method handler,
+        HandlerInvoker invoker,
+        Optional<AsyncExecution> async,
         boolean isDeprecated) implements CommandModel {
 
     public SingleCommandModel {
@@ -33,14 +39,35 @@ public record SingleCommandModel(
     }
 
     @Override
-    public void run(CommandSender sender, List<String> rawArgs) throws Exception {
+    public CompletionStage<Void> run(CommandSender sender, List<String> rawArgs) throws Exception {
         if (!permission.map(sender::hasPermission).orElse(true)) {
             throw new SenderUnauthorized();
         }
 
+        return runAuthorized(sender, rawArgs.toArray(String[]::new), 0);
+    }
+
+    /**
+     * Runs the command without checking its permission, for callers which have checked it already
+     *
+     * <p>The arguments are parsed from the array in place, so dispatchers pass the arguments of the root command
+     * without copying the slice of this command.</p>
+     *
+     * @param sender the sender of the invocation
+     * @param rawArgs the arguments of the root command
+     * @param offset the position of the first argument of this command in {@code rawArgs}
+     * @return see {@link #run(CommandSender, List)}
+     * @throws Exception see {@link #run(CommandSender, List)}
+     */
+    public CompletionStage<Void> runAuthorized(CommandSender sender, String[] rawArgs, int offset) throws Exception {
+        // rejected before parsing, so spamming a command costs the server as little as possible
+        if (cooldown.isPresent()) {
+            cooldown.get().acquire(sender);
+        }
+
         if (playerOnly && !(sender instanceof Player)) {
             sender.sendMessage(ErrorComponent.text("Only players can run this command"));
-            return;
+            return COMPLETED;
         }
 
         if (isDeprecated) {
@@ -48,33 +75,30 @@ public record SingleCommandModel(
                     ErrorComponent.text("This command has been deprecated and should not be used anymore"));
         }
 
-        final var parsedArgs = new ArrayList<>();
-        var remainingArgs = rawArgs;
-
-        for (final var parser : parsers) {
+        final var args = invoker.newArguments(sender);
+        final var cursor = new ArgumentCursor(rawArgs, offset);
 
-            final var result = parser.parse(remainingArgs);
+        for (var i = 0; i < parsers.size(); ++i) {
+            // parsers record failures on the cursor, only the rejection of the invocation creates an exception
+            final var value = parsers.get(i).tryParse(cursor);
+            if (cursor.failed()) {
+                throw cursor.failure();
+            }
 
-            parsedArgs.add(result.parsedValue());
-            remainingArgs = result.remainingArgs();
+            args[invoker.argumentSlot(i)] = value;
         }
 
-        if (remainingArgs.size() > 0) {
-            throw new ParseException(remainingArgs.get(remainingArgs.size() - 1), "Unused arg");
+        if (cursor.hasNext()) {
+            throw new ParseException(rawArgs[rawArgs.length - 1], "Unused arg");
         }
 
-        final var args = senderBindingPos.map(pos -> {
-            final var before = parsedArgs.subList(0, pos);
-            final var after = parsedArgs.subList(pos, parsedArgs.size());
-
-            final var allArgs = new ArrayList<>(before);
-            allArgs.add(sender);
-            allArgs.addAll(after);
-
-            return allArgs;
-        }).orElse(parsedArgs).toArray();
+        final var target = instance.apply(sender);
+        if (async.isPresent()) {
+            return async.get().submit(sender, () -> invoker.invoke(target, args));
+        }
 
-        handler.invoke(instance, args);
+        invoker.invoke(target, args);
+        return COMPLETED;
     }
 
     public <T> T accept(CommandModelVisitor<T> visitor) {
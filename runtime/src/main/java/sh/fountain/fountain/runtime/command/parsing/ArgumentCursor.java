@@ -0,0 +1,195 @@
+package sh.fountain.fountain.runtime.command.parsing;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A position in the arguments of a command invocation, advanced by the {@link ArgumentParser}s consuming them
+ * <p>A single cursor is shared by all parsers of an invocation. It indexes the arguments the server passes to the
+ * command directly, starting behind the arguments naming the subcommands on the path to the invoked command.
+ * Parsers trying alternatives {@linkplain #mark() mark} the position and {@linkplain #reset(int) reset} to it
+ * to backtrack.</p>
+ * <p>Parsers report malformed arguments by {@linkplain #fail(String, String) recording the failure} on the cursor
+ * instead of throwing or wrapping their value, so parsing well formed arguments allocates nothing but the values.
+ * The failure is turned into a {@link ParseException} once, when the invocation is rejected.</p>
+ */
+public final class ArgumentCursor {
+    private static final String MISSING_MESSAGE = "missing param";
+
+    private final String[] tokens;
+    private int position;
+    private boolean failed;
+    private String failedArg;
+    private String failureMessage;
+    private boolean playerNotFound;
+
+    /**
+     * Creates a cursor over a slice of arguments
+     *
+     * @param tokens the arguments, not copied
+     * @param offset the position of the first argument to parse
+     */
+    public ArgumentCursor(String[] tokens, int offset) {
+        this.tokens = tokens;
+        this.position = offset;
+    }
+
+    /**
+     * Creates a cursor over a copy of a list of arguments, for the list based {@link ArgumentParser} contract
+     *
+     * @param tokens the arguments
+     */
+    public ArgumentCursor(List<String> tokens) {
+        this(tokens.toArray(String[]::new), 0);
+    }
+
+    /**
+     * Moves the cursor back to a marked position, discarding a failure recorded since
+     *
+     * @param mark the position returned by {@link #mark()}
+     */
+    public void reset(int mark) {
+        position = mark;
+        failed = false;
+    }
+
+    public int mark() {
+        return position;
+    }
+
+    public boolean hasNext() {
+        return position < tokens.length;
+    }
+
+    /**
+     * Returns the next argument without consuming it
+     *
+     * @return the next argument
+     * @throws ParseException if all arguments have been consumed
+     */
+    public String peek() throws ParseException {
+        if (!hasNext()) {
+            throw new ParseException(null, MISSING_MESSAGE);
+        }
+
+        return tokens[position];
+    }
+
+    /**
+     * Consumes the next argument
+     *
+     * @return the next argument
+     * @throws ParseException if all arguments have been consumed
+     */
+    public String next() throws ParseException {
+        final var token = peek();
+        ++position;
+        return token;
+    }
+
+    /**
+     * Consumes the next argument if there is one
+     *
+     * @return the next argument, {@code null} if all arguments have been consumed
+     */
+    public String nextOrNull() {
+        return hasNext() ? tokens[position++] : null;
+    }
+
+    /**
+     * Consumes multiple arguments at once
+     *
+     * @param count the number of arguments to consume, at most {@link #remainingCount()}
+     */
+    public void skip(int count) {
+        position = Math.min(tokens.length, position + count);
+    }
+
+    public int remainingCount() {
+        return tokens.length - position;
+    }
+
+    /**
+     * Returns the arguments which have not been consumed yet
+     *
+     * @return a view of the remaining arguments
+     */
+    public List<String> remaining() {
+        return Arrays.asList(tokens).subList(position, tokens.length);
+    }
+
+    /**
+     * Records that the arguments at the cursor are malformed
+     *
+     * @param badArg the malformed argument, {@code null} if it is missing
+     * @param message the reason the argument is malformed
+     * @param <T> the type of value which could not be parsed
+     * @return {@code null}, for parsers to return
+     */
+    public <T> T fail(String badArg, String message) {
+        failed = true;
+        failedArg = badArg;
+        failureMessage = message;
+        playerNotFound = false;
+        return null;
+    }
+
+    /**
+     * Records the failure reported by an exception, for parsers which still throw
+     *
+     * @param exception the exception
+     * @param <T> the type of value which could not be parsed
+     * @return {@code null}, for parsers to return
+     */
+    public <T> T fail(ParseException exception) {
+        fail(exception.badArg, exception.getMessage());
+        playerNotFound = exception instanceof NoSuchPlayerException;
+        return null;
+    }
+
+    /**
+     * Records that the cursor has no argument left to parse
+     *
+     * @param <T> the type of value which could not be parsed
+     * @return {@code null}, for parsers to return
+     */
+    public <T> T failMissing() {
+        return fail(null, MISSING_MESSAGE);
+    }
+
+    /**
+     * Records that an argument names a player who could not be found
+     *
+     * @param badArg the argument
+     * @param <T> the type of value which could not be parsed
+     * @return {@code null}, for parsers to return
+     */
+    public <T> T failNoSuchPlayer(String badArg) {
+        fail(badArg, "Player could not be found");
+        playerNotFound = true;
+        return null;
+    }
+
+    /**
+     * Returns if a parser has recorded a failure since the cursor has been created or last reset
+     *
+     * @return if the value returned by the last parser is to be discarded
+     */
+    public boolean failed() {
+        return failed;
+    }
+
+    /**
+     * Creates the exception rejecting the invocation of the recorded failure
+     *
+     * @return a {@link NoSuchPlayerException} if the player could not be found, a {@link ParseException} otherwise
+     * @throws IllegalStateException if no failure has been recorded
+     */
+    public ParseException failure() {
+        if (!failed) {
+            throw new IllegalStateException("No failure has been recorded");
+        }
+
+        return playerNotFound ? new NoSuchPlayerException(failedArg) : new ParseException(failedArg, failureMessage);
+    }
+}
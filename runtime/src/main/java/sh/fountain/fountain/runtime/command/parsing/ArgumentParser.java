@@ -12,4 +12,39 @@ public interface ArgumentParser<T> {
     }
 
     Result<T> parse(List<String> arguments) throws ParseException;
+
+    /**
+     * Parses a value from the arguments at a cursor and advances it past the consumed arguments
+     * <p>Adapts {@link #parse(List)} by default. Parsers extending {@link CursorParser} consume the arguments
+     * in place instead, without creating a {@link Result} and a view of the remaining arguments.</p>
+     *
+     * @param cursor the cursor
+     * @return the parsed value
+     * @throws ParseException if the arguments at the cursor could not be parsed
+     */
+    default T parse(ArgumentCursor cursor) throws ParseException {
+        final var remaining = cursor.remaining();
+        final var result = parse(remaining);
+        cursor.skip(remaining.size() - result.remainingArgs().size());
+        return result.parsedValue();
+    }
+
+    /**
+     * Parses a value from the arguments at a cursor, reporting malformed arguments without throwing
+     * <p>Malformed arguments are {@linkplain ArgumentCursor#fail(String, String) recorded on the cursor},
+     * callers check {@link ArgumentCursor#failed()} before using the returned value.
+     * Adapts {@link #parse(ArgumentCursor)} by default. Parsers extending {@link CursorParser} record failures
+     * without creating exceptions. The cursor is left at an unspecified position on failure.</p>
+     *
+     * @param cursor the cursor
+     * @return the parsed value, unspecified if a failure has been recorded
+     */
+    default T tryParse(ArgumentCursor cursor) {
+        try {
+            return parse(cursor);
+
+        } catch (ParseException exception) {
+            return cursor.fail(exception);
+        }
+    }
 }
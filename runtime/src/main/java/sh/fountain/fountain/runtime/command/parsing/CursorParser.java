@@ -0,0 +1,31 @@
+package sh.fountain.fountain.runtime.command.parsing;
+
+import java.util.List;
+
+/**
+ * A parser consuming arguments through an {@link ArgumentCursor}
+ * <p>Subclasses implement {@link #tryParse(ArgumentCursor)} and record malformed arguments on the cursor.
+ * The throwing {@link #parse(ArgumentCursor)} and {@link #parse(List)} are implemented through it for callers of
+ * the exception based contracts.</p>
+ */
+public abstract class CursorParser<T> implements ArgumentParser<T> {
+    @Override
+    public abstract T tryParse(ArgumentCursor cursor);
+
+    @Override
+    public final T parse(ArgumentCursor cursor) throws ParseException {
+        final var value = tryParse(cursor);
+        if (cursor.failed()) {
+            throw cursor.failure();
+        }
+
+        return value;
+    }
+
+    @Override
+    public final Result<T> parse(List<String> arguments) throws ParseException {
+        final var cursor = new ArgumentCursor(arguments);
+        final var value = parse(cursor);
+        return new Result<>(value, cursor.remaining());
+    }
+}
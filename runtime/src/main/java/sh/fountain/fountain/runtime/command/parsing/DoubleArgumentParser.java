@@ -0,0 +1,9 @@
+package sh.fountain.fountain.runtime.command.parsing;
+
+/**
+ * An {@link ArgumentParser} of {@code double} values
+ * <p>Marks the parser so its argument is represented as a Brigadier double argument, which the client validates
+ * and completes as a number.</p>
+ */
+public interface DoubleArgumentParser extends ArgumentParser<Double> {
+}
@@ -0,0 +1,113 @@
+package sh.fountain.fountain.runtime.command.parsing;
+
+/**
+ * Parses numbers from arguments without throwing on malformed ones
+ * <p>{@link Integer#parseInt(String)} and {@link Double#parseDouble(String)} report malformed input by throwing
+ * a {@link NumberFormatException}, which fills in a stack trace for every malformed argument a player sends.</p>
+ */
+public final class NumberSyntax {
+    /**
+     * Returned by {@link #parseInt(String)} for arguments which are no {@code int}
+     */
+    public static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private NumberSyntax() {
+    }
+
+    /**
+     * Parses an {@code int} like {@link Integer#parseInt(String)}
+     *
+     * @param arg the argument
+     * @return the value, or {@link #NOT_AN_INT} if the argument is no decimal {@code int}
+     */
+    public static long parseInt(String arg) {
+        final var length = arg.length();
+        if (length == 0) {
+            return NOT_AN_INT;
+        }
+
+        final var negative = arg.charAt(0) == '-';
+        var i = negative || arg.charAt(0) == '+' ? 1 : 0;
+        if (i == length) {
+            return NOT_AN_INT;
+        }
+
+        var value = 0L;
+        for (; i < length; ++i) {
+            final var digit = Character.digit(arg.charAt(i), 10);
+            if (digit < 0) {
+                return NOT_AN_INT;
+            }
+
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return NOT_AN_INT;
+            }
+        }
+
+        if (!negative && value > Integer.MAX_VALUE) {
+            return NOT_AN_INT;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns if an argument is a decimal {@code double} accepted by {@link Double#parseDouble(String)}
+     * <p>Accepts an optional sign followed by {@code NaN}, {@code Infinity} or digits with an optional fraction,
+     * exponent and type suffix. Hexadecimal literals are not accepted.</p>
+     *
+     * @param arg the argument
+     * @return if {@link Double#parseDouble(String)} parses the argument without throwing
+     */
+    public static boolean isDouble(String arg) {
+        final var length = arg.length();
+        var i = 0;
+        if (i < length && (arg.charAt(i) == '-' || arg.charAt(i) == '+')) {
+            ++i;
+        }
+
+        if (arg.startsWith("NaN", i)) {
+            return i + "NaN".length() == length;
+        }
+        if (arg.startsWith("Infinity", i)) {
+            return i + "Infinity".length() == length;
+        }
+
+        var digits = 0;
+        for (; i < length && isDigit(arg.charAt(i)); ++i) {
+            ++digits;
+        }
+        if (i < length && arg.charAt(i) == '.') {
+            for (++i; i < length && isDigit(arg.charAt(i)); ++i) {
+                ++digits;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < length && (arg.charAt(i) == 'e' || arg.charAt(i) == 'E')) {
+            ++i;
+            if (i < length && (arg.charAt(i) == '-' || arg.charAt(i) == '+')) {
+                ++i;
+            }
+
+            var exponentDigits = 0;
+            for (; i < length && isDigit(arg.charAt(i)); ++i) {
+                ++exponentDigits;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+
+        if (i < length && "fFdD".indexOf(arg.charAt(i)) >= 0) {
+            ++i;
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
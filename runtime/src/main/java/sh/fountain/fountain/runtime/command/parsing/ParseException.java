@@ -1,17 +1,22 @@
 package sh.fountain.fountain.runtime.command.parsing;
 
+/**
+ * Rejects an invocation whose arguments are malformed
+ * <p>Parse exceptions are expected on bad input and are handled by replying to the sender, so they do not record
+ * a stack trace.</p>
+ */
 public class ParseException extends Exception {
 
     public final String badArg;
 
     public ParseException(String badArg, String message) {
-        super(message);
+        super(message, null, false, false);
 
         this.badArg = badArg;
     }
 
     public ParseException(String badArg, Throwable cause) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, false, false);
 
         this.badArg = badArg;
     }
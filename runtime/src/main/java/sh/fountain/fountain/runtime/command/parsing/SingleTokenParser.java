@@ -2,26 +2,60 @@ package sh.fountain.fountain.runtime.command.parsing;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
 
-import java.util.List;
-
+/**
+ * A parser consuming a single argument
+ * <p>Subclasses implement {@link #parse(String)}, or override {@link #tryParse(String, ArgumentCursor)} to reject
+ * malformed arguments without throwing.</p>
+ */
 @Injectable
-public abstract class SingleTokenParser<T> implements ArgumentParser<T> {
+public abstract class SingleTokenParser<T> extends CursorParser<T> {
     protected abstract T parse(String arg) throws ParseException;
 
-    @Override
-    public final Result<T> parse(List<String> args) throws ParseException {
-        if (args.size() == 0) {
-            throw new ParseException(null, "missing param");
-        }
-
+    /**
+     * Parses a single argument
+     * <p>Adapts {@link #parse(String)} by default, recording any exception as failure on the cursor.</p>
+     *
+     * @param arg the argument
+     * @param cursor the cursor to record a failure on, already advanced past the argument
+     * @return the parsed value, unspecified if a failure has been recorded
+     */
+    protected T tryParse(String arg, ArgumentCursor cursor) {
         try {
-            return new Result<>(parse(args.get(0)), args.size() == 0 ? List.of() : args.subList(1, args.size()));
+            return parse(arg);
 
         } catch (ParseException exception) {
-            throw exception;
+            return cursor.fail(exception);
 
         } catch (Exception error) {
-            throw new ParseException(args.size() > 0 ? args.get(0) : null, error);
+            return cursor.fail(arg, error.toString());
         }
     }
+
+    @Override
+    public T tryParse(ArgumentCursor cursor) {
+        final var arg = cursor.nextOrNull();
+        if (arg == null) {
+            return cursor.failMissing();
+        }
+
+        return tryParse(arg, cursor);
+    }
+
+    /**
+     * Parses a single argument through {@link #tryParse(String, ArgumentCursor)}, for subclasses which implement
+     * {@link #parse(String)} by it
+     *
+     * @param arg the argument
+     * @return the parsed value
+     * @throws ParseException if the argument is malformed
+     */
+    protected final T parseThroughCursor(String arg) throws ParseException {
+        final var cursor = new ArgumentCursor(new String[0], 0);
+        final var value = tryParse(arg, cursor);
+        if (cursor.failed()) {
+            throw cursor.failure();
+        }
+
+        return value;
+    }
 }
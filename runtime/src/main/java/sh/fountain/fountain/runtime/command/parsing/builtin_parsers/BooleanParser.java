@@ -1,6 +1,7 @@
 package sh.fountain.fountain.runtime.command.parsing.builtin_parsers;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
 import sh.fountain.fountain.runtime.command.parsing.ParseException;
 import sh.fountain.fountain.runtime.command.parsing.SingleTokenParser;
 
@@ -9,11 +10,20 @@ public class BooleanParser extends SingleTokenParser<Boolean> {
 
     @Override
     protected Boolean parse(String arg) throws ParseException {
-        return switch (arg.toLowerCase()) {
-            case "true" -> true;
-            case "false" -> false;
-            default -> throw new ParseException(arg, "Illegal boolean value expected true or false");
-        };
+        return parseThroughCursor(arg);
+    }
+
+    @Override
+    protected Boolean tryParse(String arg, ArgumentCursor cursor) {
+        // not a switch expression, which would unbox the null returned on failure
+        if (arg.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (arg.equalsIgnoreCase("false")) {
+            return false;
+        }
+
+        return cursor.fail(arg, "Illegal boolean value expected true or false");
     }
 
 }
@@ -1,13 +1,13 @@
 package sh.fountain.fountain.runtime.command.parsing.builtin_parsers;
 
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
 import sh.fountain.fountain.runtime.command.parsing.ArgumentParser;
-import sh.fountain.fountain.runtime.command.parsing.ParseException;
+import sh.fountain.fountain.runtime.command.parsing.CursorParser;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.function.Supplier;
 
-public class CollectionParser<U, T extends Collection<U>> implements ArgumentParser<T> {
+public class CollectionParser<U, T extends Collection<U>> extends CursorParser<T> {
     private final Supplier<T> collectionConstructor;
     private final ArgumentParser<U> itemParser;
 
@@ -16,19 +16,24 @@ public class CollectionParser<U, T extends Collection<U>> implements ArgumentPar
         this.itemParser = itemParser;
     }
 
+    public ArgumentParser<U> itemParser() {
+        return itemParser;
+    }
+
     @Override
-    public Result<T> parse(List<String> arguments) throws ParseException {
+    public T tryParse(ArgumentCursor cursor) {
         final var value = collectionConstructor.get();
 
-        var remainingArgs = arguments;
-        while (remainingArgs.size() > 0) {
-            final var result = itemParser.parse(remainingArgs);
+        while (cursor.hasNext()) {
+            final var item = itemParser.tryParse(cursor);
+            if (cursor.failed()) {
+                return null;
+            }
 
-            value.add(result.parsedValue());
-            remainingArgs = result.remainingArgs();
+            value.add(item);
         }
 
-        return new Result<>(value, remainingArgs);
+        return value;
     }
 
 }
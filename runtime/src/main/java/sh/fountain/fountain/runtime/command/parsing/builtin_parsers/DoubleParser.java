@@ -1,14 +1,27 @@
 package sh.fountain.fountain.runtime.command.parsing.builtin_parsers;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
+import sh.fountain.fountain.runtime.command.parsing.DoubleArgumentParser;
+import sh.fountain.fountain.runtime.command.parsing.NumberSyntax;
 import sh.fountain.fountain.runtime.command.parsing.ParseException;
 import sh.fountain.fountain.runtime.command.parsing.SingleTokenParser;
 
 @Injectable
-public class DoubleParser extends SingleTokenParser<Double> {
+public class DoubleParser extends SingleTokenParser<Double> implements DoubleArgumentParser {
+    private static final String MALFORMED_MESSAGE = "Illegal number";
 
     @Override
     protected Double parse(String arg) throws ParseException {
+        return parseThroughCursor(arg);
+    }
+
+    @Override
+    protected Double tryParse(String arg, ArgumentCursor cursor) {
+        if (!NumberSyntax.isDouble(arg)) {
+            return cursor.fail(arg, MALFORMED_MESSAGE);
+        }
+
         return Double.parseDouble(arg);
     }
 
@@ -1,10 +1,9 @@
 package sh.fountain.fountain.runtime.command.parsing.builtin_parsers;
 
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
 import sh.fountain.fountain.runtime.command.parsing.ParseException;
 import sh.fountain.fountain.runtime.command.parsing.SingleTokenParser;
 
-import java.util.Arrays;
-
 public class EnumParser<E extends Enum<E>> extends SingleTokenParser<E> {
     private final Class<E> enumType;
 
@@ -12,12 +11,24 @@ public class EnumParser<E extends Enum<E>> extends SingleTokenParser<E> {
         this.enumType = enumType;
     }
 
+    public Class<E> enumType() {
+        return enumType;
+    }
+
     @Override
     protected E parse(String arg) throws ParseException {
-        return Arrays.stream(enumType.getEnumConstants())
-                .filter(o -> o.name().equalsIgnoreCase(arg))
-                .findFirst()
-                .orElseThrow(() -> new ParseException(arg, "Illegal option"));
+        return parseThroughCursor(arg);
+    }
+
+    @Override
+    protected E tryParse(String arg, ArgumentCursor cursor) {
+        for (final var constant : enumType.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(arg)) {
+                return constant;
+            }
+        }
+
+        return cursor.fail(arg, "Illegal option");
     }
 
 }
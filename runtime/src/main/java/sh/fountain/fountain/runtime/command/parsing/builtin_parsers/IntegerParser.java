@@ -1,15 +1,29 @@
 package sh.fountain.fountain.runtime.command.parsing.builtin_parsers;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
+import sh.fountain.fountain.runtime.command.parsing.IntArgumentParser;
+import sh.fountain.fountain.runtime.command.parsing.NumberSyntax;
 import sh.fountain.fountain.runtime.command.parsing.ParseException;
 import sh.fountain.fountain.runtime.command.parsing.SingleTokenParser;
 
 @Injectable
-public class IntegerParser extends SingleTokenParser<Integer> {
+public class IntegerParser extends SingleTokenParser<Integer> implements IntArgumentParser {
+    private static final String MALFORMED_MESSAGE = "Illegal integer";
 
     @Override
     protected Integer parse(String arg) throws ParseException {
-        return Integer.parseInt(arg);
+        return parseThroughCursor(arg);
+    }
+
+    @Override
+    protected Integer tryParse(String arg, ArgumentCursor cursor) {
+        final var value = NumberSyntax.parseInt(arg);
+        if (value == NumberSyntax.NOT_AN_INT) {
+            return cursor.fail(arg, MALFORMED_MESSAGE);
+        }
+
+        return (int) value;
     }
 
 }
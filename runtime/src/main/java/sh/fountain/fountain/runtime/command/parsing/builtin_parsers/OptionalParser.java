@@ -1,30 +1,37 @@
 package sh.fountain.fountain.runtime.command.parsing.builtin_parsers;
 
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
 import sh.fountain.fountain.runtime.command.parsing.ArgumentParser;
-import sh.fountain.fountain.runtime.command.parsing.ParseException;
+import sh.fountain.fountain.runtime.command.parsing.CursorParser;
 
-import java.util.List;
 import java.util.Optional;
 
-public class OptionalParser<U> implements ArgumentParser<Optional<U>> {
+public class OptionalParser<U> extends CursorParser<Optional<U>> {
     private final ArgumentParser<U> itemParser;
 
     public OptionalParser(ArgumentParser<U> itemParser) {
         this.itemParser = itemParser;
     }
 
+    public ArgumentParser<U> itemParser() {
+        return itemParser;
+    }
+
     @Override
-    public Result<Optional<U>> parse(List<String> args) throws ParseException {
-        if (args.size() == 0) {
-            return new ArgumentParser.Result<>(Optional.empty(), args);
-        } else {
-            try {
-                final var result = itemParser.parse(args);
-                return new ArgumentParser.Result<>(Optional.of(result.parsedValue()), result.remainingArgs());
-            } catch (ParseException exception) {
-                return new ArgumentParser.Result<>(Optional.empty(), args);
-            }
+    public Optional<U> tryParse(ArgumentCursor cursor) {
+        if (!cursor.hasNext()) {
+            return Optional.empty();
         }
+
+        final var mark = cursor.mark();
+        final var item = itemParser.tryParse(cursor);
+        if (!cursor.failed()) {
+            return Optional.of(item);
+        }
+
+        // backtracks and discards the failure, so the argument is parsed by the next parser instead
+        cursor.reset(mark);
+        return Optional.empty();
     }
 
 }
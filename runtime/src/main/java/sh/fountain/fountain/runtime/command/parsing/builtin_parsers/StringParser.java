@@ -1,6 +1,7 @@
 package sh.fountain.fountain.runtime.command.parsing.builtin_parsers;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
 import sh.fountain.fountain.runtime.command.parsing.ParseException;
 import sh.fountain.fountain.runtime.command.parsing.SingleTokenParser;
 
@@ -9,10 +10,12 @@ public class StringParser extends SingleTokenParser<String> {
 
     @Override
     protected String parse(String arg) throws ParseException {
-        if (arg == null) {
-            throw new ParseException(arg, "may not be null");
-        }
-        return arg;
+        return parseThroughCursor(arg);
+    }
+
+    @Override
+    protected String tryParse(String arg, ArgumentCursor cursor) {
+        return arg == null ? cursor.fail(arg, "may not be null") : arg;
     }
 
 }
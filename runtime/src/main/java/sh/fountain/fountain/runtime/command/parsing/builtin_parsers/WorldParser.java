@@ -1,22 +1,25 @@
 package sh.fountain.fountain.runtime.command.parsing.builtin_parsers;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.runtime.command.parsing.ArgumentCursor;
 import sh.fountain.fountain.runtime.command.parsing.ParseException;
 import sh.fountain.fountain.runtime.command.parsing.SingleTokenParser;
 
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 
-import java.util.Optional;
-
 @Injectable
 public class WorldParser extends SingleTokenParser<World> {
 
     @Override
     protected World parse(String arg) throws ParseException {
-        return Optional
-                .ofNullable(Bukkit.getWorld(arg))
-                .orElseThrow(() -> new ParseException(arg, "World does not exist"));
+        return parseThroughCursor(arg);
+    }
+
+    @Override
+    protected World tryParse(String arg, ArgumentCursor cursor) {
+        final var value = Bukkit.getWorld(arg);
+        return value == null ? cursor.fail(arg, "World does not exist") : value;
     }
 
 }
@@ -0,0 +1,75 @@
+package sh.fountain.fountain.runtime.component_index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The component index generated at compile time for a root package
+ * <p>The index is a resource at {@code META-INF/fountain/<root package>.index}.
+ * Every line has the form {@code <section> <binary class name>}, unknown sections are ignored.</p>
+ *
+ * @param factories the binary names of all generated {@link sh.fountain.fountain.runtime.dependency_injection.ComponentFactory}s
+ * @param injectables the binary names of all injectable types
+ * @param commands the binary names of all types declaring command handlers
+ * @param compositeCommands the binary names of all composite command types
+ * @param listeners the binary names of all Bukkit listeners
+ * @param actions the binary names of all plugin actions
+ */
+public record ComponentIndex(List<String> factories, List<String> injectables, List<String> commands,
+        List<String> compositeCommands, List<String> listeners, List<String> actions) {
+    /**
+     * Loads the index for a root package
+     *
+     * @param classLoader the class loader to look up the index resource with
+     * @param rootPackage the package the index has been generated for
+     * @return the index or {@code Optional.empty()} if no index has been generated for {@code rootPackage}
+     * @throws UncheckedIOException if the index exists but could not be read
+     */
+    public static Optional<ComponentIndex> load(ClassLoader classLoader, String rootPackage) {
+        final var resource = classLoader.getResource(resourcePath(rootPackage));
+        if (resource == null) {
+            return Optional.empty();
+        }
+
+        try (final var reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            return Optional.of(parse(reader.lines().toList()));
+
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public static String resourcePath(String rootPackage) {
+        return "META-INF/fountain/%s.index".formatted(rootPackage);
+    }
+
+    static ComponentIndex parse(List<String> lines) {
+        final var sections = new HashMap<String, List<String>>();
+
+        for (final var line : lines) {
+            final var entry = line.strip().split(" ", 2);
+            if (entry.length != 2) {
+                continue;
+            }
+
+            sections.computeIfAbsent(entry[0], section -> new ArrayList<>()).add(entry[1]);
+        }
+
+        return new ComponentIndex(section(sections, "factory"), section(sections, "injectable"),
+                section(sections, "command"), section(sections, "composite"), section(sections, "listener"),
+                section(sections, "action"));
+    }
+
+    private static List<String> section(Map<String, List<String>> sections, String name) {
+        return List.copyOf(sections.getOrDefault(name, List.of()));
+    }
+}
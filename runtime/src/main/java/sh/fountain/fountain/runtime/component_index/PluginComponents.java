@@ -0,0 +1,154 @@
+package sh.fountain.fountain.runtime.component_index;
+
+import sh.fountain.fountain.api.command.Command;
+import sh.fountain.fountain.api.command.CompositeCommand;
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin_actions.PluginDisableAction;
+import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
+import sh.fountain.fountain.api.plugin_actions.PluginLoadAction;
+import sh.fountain.fountain.api.plugin_actions.PluginWarmupAction;
+import org.bukkit.event.Listener;
+import org.reflections.Reflections;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.reflections.scanners.Scanners.TypesAnnotated;
+
+/**
+ * The components of a plugin, ie. its injectables, commands, listeners and plugin actions
+ * <p>Components are read from the {@link ComponentIndex} generated at compile time, or found by scanning the classpath
+ * for packages compiled without the annotation processor. They are kept in immutable sets which do not reference
+ * the index or the scan they have been read from, so both can be garbage collected once the plugin has been loaded.</p>
+ */
+@Injectable(useConstructor = false)
+public final class PluginComponents {
+    /**
+     * No components at all
+     */
+    public static final PluginComponents NONE = new PluginComponents(Set.of(), Set.of(), Set.of(), Set.of(), Set.of());
+
+    private final Set<Class<?>> injectables;
+    private final Set<Method> commandHandlers;
+    private final Set<Class<?>> compositeCommands;
+    private final Set<Class<? extends Listener>> listeners;
+    private final Set<Class<?>> actions;
+
+    private PluginComponents(Set<Class<?>> injectables, Set<Method> commandHandlers, Set<Class<?>> compositeCommands,
+            Set<Class<? extends Listener>> listeners, Set<Class<?>> actions) {
+        this.injectables = Set.copyOf(injectables);
+        this.commandHandlers = Set.copyOf(commandHandlers);
+        this.compositeCommands = Set.copyOf(compositeCommands);
+        this.listeners = Set.copyOf(listeners);
+        this.actions = Set.copyOf(actions);
+    }
+
+    /**
+     * Loads the components listed in a component index
+     *
+     * @param index the index
+     * @param classLoader the class loader to load the components with
+     * @param logger the logger to report components that could not be loaded to
+     * @return the components
+     */
+    public static PluginComponents fromIndex(ComponentIndex index, ClassLoader classLoader, Logger logger) {
+        final var commandHandlers = load(index.commands(), classLoader, logger).stream()
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> method.isAnnotationPresent(Command.class))
+                .collect(Collectors.toSet());
+
+        final var listeners = load(index.listeners(), classLoader, logger).stream()
+                .<Class<? extends Listener>>map(type -> type.asSubclass(Listener.class))
+                .collect(Collectors.toSet());
+
+        return new PluginComponents(load(index.injectables(), classLoader, logger), commandHandlers,
+                load(index.compositeCommands(), classLoader, logger), listeners, load(index.actions(), classLoader, logger));
+    }
+
+    /**
+     * Finds the components by querying a classpath scan
+     *
+     * @param reflections the scan, must include the {@link org.reflections.scanners.Scanners#TypesAnnotated},
+     *                    {@link org.reflections.scanners.Scanners#MethodsAnnotated}
+     *                    and {@link org.reflections.scanners.Scanners#SubTypes} scanners
+     * @return the components
+     */
+    public static PluginComponents fromReflections(Reflections reflections) {
+        final var actions = Stream.of(PluginLoadAction.class, PluginEnableAction.class, PluginDisableAction.class,
+                        PluginWarmupAction.class)
+                .flatMap(action -> reflections.getSubTypesOf(action).stream())
+                .collect(Collectors.<Class<?>>toSet());
+
+        return new PluginComponents(reflections.get(TypesAnnotated.with(Injectable.class).asClass()),
+                reflections.getMethodsAnnotatedWith(Command.class), reflections.getTypesAnnotatedWith(CompositeCommand.class),
+                reflections.getSubTypesOf(Listener.class), actions);
+    }
+
+    private static Set<Class<?>> load(List<String> names, ClassLoader classLoader, Logger logger) {
+        final var types = new HashSet<Class<?>>();
+        for (final var name : names) {
+            try {
+                types.add(Class.forName(name, false, classLoader));
+
+            } catch (ClassNotFoundException | LinkageError exception) {
+                logger.severe("Failed to load indexed component %s: %s".formatted(name, exception.getMessage()));
+            }
+        }
+
+        return types;
+    }
+
+    private static <T> Set<T> union(Set<T> first, Set<T> second) {
+        final var union = new HashSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+
+    /**
+     * Returns the components of both this and {@code other}
+     *
+     * @param other the components to merge with
+     * @return the merged components
+     */
+    public PluginComponents merge(PluginComponents other) {
+        return new PluginComponents(union(injectables, other.injectables), union(commandHandlers, other.commandHandlers),
+                union(compositeCommands, other.compositeCommands), union(listeners, other.listeners),
+                union(actions, other.actions));
+    }
+
+    public Set<Class<?>> injectables() {
+        return injectables;
+    }
+
+    public Set<Method> commandHandlers() {
+        return commandHandlers;
+    }
+
+    public Set<Class<?>> compositeCommands() {
+        return compositeCommands;
+    }
+
+    public Set<Class<? extends Listener>> listeners() {
+        return listeners;
+    }
+
+    /**
+     * Returns the plugin actions of a phase
+     *
+     * @param <T> the type of action
+     * @param phase the action interface of the phase, eg. {@link PluginEnableAction}
+     * @return all actions implementing {@code phase}
+     */
+    public <T> Set<Class<? extends T>> actions(Class<T> phase) {
+        return actions.stream()
+                .filter(phase::isAssignableFrom)
+                .<Class<? extends T>>map(action -> action.asSubclass(phase))
+                .collect(Collectors.toSet());
+    }
+}
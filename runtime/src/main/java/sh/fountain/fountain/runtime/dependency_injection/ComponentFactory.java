@@ -0,0 +1,32 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import java.util.List;
+
+/**
+ * Constructs instances of a concrete injectable type without reflection
+ * <p>Implementations are generated at compile time for every type annotated with
+ * {@link sh.fountain.fountain.api.dependency_injection.Injectable} and are listed in the plugins
+ * {@link sh.fountain.fountain.runtime.component_index.ComponentIndex}.</p>
+ *
+ * @param <T> the type of value constructed
+ */
+public interface ComponentFactory<T> {
+    /**
+     * Returns the concrete type this factory constructs
+     */
+    Class<T> type();
+
+    /**
+     * Returns the tokens of the values to pass to {@link #create(Object[])} in order
+     */
+    List<InjectionToken<?>> dependencies();
+
+    /**
+     * Constructs a new instance
+     *
+     * @param dependencies the values for {@link #dependencies()} in order
+     * @return a new instance of {@link #type()}
+     * @throws Exception if the constructor throws
+     */
+    T create(Object[] dependencies) throws Exception;
+}
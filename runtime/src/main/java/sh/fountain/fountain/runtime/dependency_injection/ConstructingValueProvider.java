@@ -0,0 +1,159 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Base class of the providers constructing values themselves, ie. by invoking a constructor or a generated factory
+ * <p>Resolves the dependencies of values requested before the injector has been frozen and caches
+ * {@link InjectionScope#SINGLETON} values, so the locking around their construction exists only once.</p>
+ * <p>The graph of dependencies is checked for cycles, except for edges through a {@link Supplier}. A constructor
+ * invoking such a supplier may thus request the value being constructed again. This is detected when the thread
+ * constructing the value requests it again, or when threads constructing values wait for each other,
+ * and reported as a {@link DependencyCycleException} instead of constructing the value twice or deadlocking.</p>
+ */
+abstract sealed class ConstructingValueProvider<T> implements InjectionValueProvider<T>
+        permits ConstructorValueProvider, FactoryValueProvider {
+    /**
+     * The provider each thread is waiting to construct a value of, to detect threads waiting for each other
+     */
+    private static final Map<Thread, ConstructingValueProvider<?>> WAITING = new ConcurrentHashMap<>();
+
+    private final DependencyInjector injector;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Optional<T> valueCache = Optional.empty();
+    private volatile Thread constructingThread;
+
+    ConstructingValueProvider(DependencyInjector injector) {
+        this.injector = injector;
+    }
+
+    @Override
+    public final T value(Stack<InjectionToken<?>> notYetResolvedTypes) {
+        final var cached = valueCache;
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        final var scope = scope();
+        if (scope.equals(InjectionScope.PLAYER) || scope.equals(InjectionScope.COMMAND_INVOCATION)) {
+            throw FailedToInjectException.outOfScope(name(), scope);
+        }
+
+        final var profiled = injector.profiler().begin(name());
+        try {
+            final var dependencies = dependencies();
+            final var args = new Object[dependencies.size()];
+            notYetResolvedTypes.push(InjectionToken.forType(type()));
+
+            try {
+                for (var i = 0; i < args.length; ++i) {
+                    final var token = dependencies.get(i);
+                    if (notYetResolvedTypes.contains(token)) {
+                        notYetResolvedTypes.push(token);
+                        throw new DependencyCycleException(notYetResolvedTypes);
+                    }
+                    args[i] = injector.valueFor(token, notYetResolvedTypes);
+                }
+
+            } catch (Exception exception) {
+                throw new FailedToInjectException(
+                        "Failed to construct instance of %s".formatted(type().getCanonicalName()),
+                        exception);
+            }
+
+            notYetResolvedTypes.pop();
+            return scope.equals(InjectionScope.PROTOTYPE) ? construct(args) : value(() -> args);
+
+        } finally {
+            injector.profiler().end(profiled);
+        }
+    }
+
+    /**
+     * Returns the cached value or constructs it
+     * <p>The value is constructed at most once, even if requested by multiple threads at the same time.
+     * Its dependencies are resolved while holding the lock, thus only by the thread constructing the value.
+     * Once constructed it is read without locking.</p>
+     *
+     * @throws DependencyCycleException if the value is requested again while it is being constructed
+     */
+    @Override
+    public final T value(Supplier<Object[]> dependencies) {
+        final var cached = valueCache;
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        lock();
+        try {
+            if (valueCache.isEmpty()) {
+                if (constructingThread == Thread.currentThread()) {
+                    throw cycle();
+                }
+
+                constructingThread = Thread.currentThread();
+                try {
+                    valueCache = Optional.of(construct(dependencies.get()));
+
+                } finally {
+                    constructingThread = null;
+                }
+            }
+
+            return valueCache.get();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void lock() {
+        if (lock.tryLock()) {
+            return;
+        }
+
+        // registered before checking, so of two threads waiting for each other at least one sees the other waiting
+        final var current = Thread.currentThread();
+        WAITING.put(current, this);
+        try {
+            if (isWaitingFor(current)) {
+                throw cycle();
+            }
+            lock.lock();
+
+        } finally {
+            WAITING.remove(current);
+        }
+    }
+
+    /**
+     * Returns if the thread constructing this value is, transitively, waiting for a value constructed by a thread
+     */
+    private boolean isWaitingFor(Thread thread) {
+        var constructing = constructingThread;
+        for (var i = 0; constructing != null && i <= WAITING.size(); ++i) {
+            if (constructing == thread) {
+                return true;
+            }
+
+            final var awaited = WAITING.get(constructing);
+            constructing = awaited == null ? null : awaited.constructingThread;
+        }
+
+        return false;
+    }
+
+    private DependencyCycleException cycle() {
+        final var path = new Stack<InjectionToken<?>>();
+        path.push(InjectionToken.forType(type()));
+        path.push(InjectionToken.forType(type()));
+        return new DependencyCycleException(path);
+    }
+}
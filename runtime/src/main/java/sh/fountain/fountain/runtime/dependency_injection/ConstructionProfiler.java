@@ -0,0 +1,142 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the wall time and allocated bytes of every value constructed by a {@link DependencyInjector}
+ * <p>Constructions are nested by dependency path, ie. the construction of a dependency is recorded as child of the value
+ * requiring it. Times and allocations of a construction include the ones of its children.
+ * The profiler is disabled by default and only records constructions started while it is enabled.</p>
+ */
+public final class ConstructionProfiler {
+    private static final com.sun.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean()
+            instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()
+                    ? threads
+                    : null;
+
+    /**
+     * A recorded construction
+     *
+     * @param name the name of the provider which constructed the value
+     * @param wallTimeNanos the wall time of the construction including its dependencies
+     * @param allocatedBytes the bytes allocated by the construction including its dependencies, or {@code -1} if unknown
+     * @param children the constructions of the dependencies in order of construction
+     */
+    public record Construction(String name, long wallTimeNanos, long allocatedBytes, List<Construction> children) {
+        public long selfTimeNanos() {
+            return wallTimeNanos - children.stream().mapToLong(Construction::wallTimeNanos).sum();
+        }
+    }
+
+    private static final class OpenConstruction {
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final long startBytes = allocatedBytes();
+        private final List<Construction> children = new ArrayList<>();
+
+        private OpenConstruction(String name) {
+            this.name = name;
+        }
+
+        private Construction close() {
+            final var bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+            return new Construction(name, System.nanoTime() - startNanos, bytes, List.copyOf(children));
+        }
+    }
+
+    private final ThreadLocal<Deque<OpenConstruction>> openConstructions = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Queue<Construction> roots = new ConcurrentLinkedQueue<>();
+    private volatile boolean enabled;
+
+    public void enable() {
+        enabled = true;
+    }
+
+    public void disable() {
+        enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns all recorded constructions which have not been started by another construction
+     *
+     * @return the roots of the recorded construction trees
+     */
+    public List<Construction> roots() {
+        return List.copyOf(roots);
+    }
+
+    public void clear() {
+        roots.clear();
+    }
+
+    /**
+     * Renders all recorded constructions as an indented tree, slowest first
+     *
+     * @return the report
+     */
+    public String report() {
+        final var report = new StringBuilder("Construction profile (wall time, self time, allocated bytes):\n");
+        roots().stream()
+                .sorted((a, b) -> Long.compare(b.wallTimeNanos(), a.wallTimeNanos()))
+                .forEach(root -> appendConstruction(report, root, 0));
+
+        return report.toString();
+    }
+
+    /**
+     * Marks the beginning of a construction
+     *
+     * @param name the name of the constructing provider
+     * @return if the construction is recorded, must be passed to {@link #end(boolean)}
+     */
+    boolean begin(String name) {
+        if (!enabled) {
+            return false;
+        }
+
+        openConstructions.get().push(new OpenConstruction(name));
+        return true;
+    }
+
+    void end(boolean recorded) {
+        if (!recorded) {
+            return;
+        }
+
+        final var open = openConstructions.get();
+        final var construction = open.pop().close();
+        if (open.isEmpty()) {
+            roots.add(construction);
+        } else {
+            open.peek().children.add(construction);
+        }
+    }
+
+    private static void appendConstruction(StringBuilder report, Construction construction, int depth) {
+        report.append("  ".repeat(depth))
+                .append(construction.name())
+                .append(" %.3fms, self %.3fms, %s".formatted(
+                        construction.wallTimeNanos() / 1e6,
+                        construction.selfTimeNanos() / 1e6,
+                        construction.allocatedBytes() < 0 ? "unknown" : construction.allocatedBytes() + "B"))
+                .append('\n');
+
+        construction.children().forEach(child -> appendConstruction(report, child, depth + 1));
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null && THREADS.isThreadAllocatedMemoryEnabled()
+                ? THREADS.getCurrentThreadAllocatedBytes()
+                : -1;
+    }
+}
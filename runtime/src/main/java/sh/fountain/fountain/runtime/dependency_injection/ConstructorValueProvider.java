@@ -1,22 +1,31 @@
 package sh.fountain.fountain.runtime.dependency_injection;
 
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
-import java.util.Stack;
 
 /**
  * Represents an {@link InjectionValueProvider} that produces a value by invoking a concrete classes constructor
+ * <p>The constructor is resolved once into a {@link MethodHandle} taking the arguments as an array,
+ * the tokens of its parameters are resolved once on first use.</p>
  */
-final class ConstructorValueProvider<T> implements InjectionValueProvider<T> {
+final class ConstructorValueProvider<T> extends ConstructingValueProvider<T> {
     private final Class<T> type;
-    private final DependencyInjector injector;
-    private Optional<T> valueCache = Optional.empty();
+    private final Constructor<?> constructor;
+    private final MethodHandle invoker;
+    private Optional<List<InjectionToken<?>>> dependencies = Optional.empty();
+    private final InjectionScope scope;
 
     public ConstructorValueProvider(Class<T> type, DependencyInjector injector) {
+        super(injector);
         this.type = type;
-        this.injector = injector;
         if (!Modifier.isPublic(type.getModifiers())) {
             throw TypeNotInjectableException.notPublic(type);
         }
@@ -29,49 +38,65 @@ final class ConstructorValueProvider<T> implements InjectionValueProvider<T> {
             throw TypeNotInjectableException.abstractTypeAsProvider(type);
         }
 
-        if (type.getConstructors().length != 1) {
+        final var constructors = type.getConstructors();
+        if (constructors.length != 1) {
             throw TypeNotInjectableException.onePublicConstructor(type);
         }
+
+        constructor = constructors[0];
+        try {
+            invoker = MethodHandles.publicLookup()
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+
+        } catch (IllegalAccessException exception) {
+            throw TypeNotInjectableException.notPublic(type);
+        }
+
+        scope = DependencyInjector.scopeOf(type);
+    }
+
+    @Override
+    public Class<T> type() {
+        return type;
+    }
+
+    @Override
+    public InjectionScope scope() {
+        return scope;
     }
 
     public String name() {
-        return "Constructor:" + constructor().getName();
+        return "Constructor:" + constructor.getName();
     }
 
     Constructor<?> constructor() {
-        return type.getConstructors()[0];
+        return constructor;
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public T value(Stack<InjectionToken<?>> notYetResolvedTypes) {
-        final var value = valueCache.orElseGet(() -> {
-            final var args = new ArrayList<>();
-            notYetResolvedTypes.push(InjectionToken.forType(type));
-
-            try {
-                for (final var parameter : constructor().getParameters()) {
-                    final var token = InjectionToken.forType(parameter.getParameterizedType());
-                    if (notYetResolvedTypes.contains(token)) {
-                        notYetResolvedTypes.push(token);
-                        throw new DependencyCycleException(notYetResolvedTypes);
-                    }
-                    args.add(injector.valueFor(token, notYetResolvedTypes));
-                }
-
-                notYetResolvedTypes.pop();
-                return (T) constructor().newInstance(args.toArray());
-
-            } catch (Exception exception) {
-                throw new FailedToInjectException(
-                        "Failed to construct instance of %s".formatted(type.getCanonicalName()),
-                        exception);
-            }
-        });
-
-        valueCache = Optional.of(value);
-
-        return value;
+    public T construct(Object[] dependencies) {
+        try {
+            return (T) (Object) invoker.invokeExact(dependencies);
+
+        } catch (Throwable throwable) {
+            throw new FailedToInjectException(
+                    "Failed to construct instance of %s".formatted(type.getCanonicalName()),
+                    throwable);
+        }
+    }
+
+    @Override
+    public List<InjectionToken<?>> dependencies() {
+        if (dependencies.isEmpty()) {
+            dependencies = Optional.of(Arrays.stream(constructor.getParameters())
+                    .<InjectionToken<?>>map(parameter -> InjectionToken.forType(parameter.getParameterizedType()))
+                    .toList());
+        }
+
+        return dependencies.get();
     }
 
     @Override
@@ -1,21 +1,32 @@
 package sh.fountain.fountain.runtime.dependency_injection;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+import sh.fountain.fountain.api.dependency_injection.Scoped;
 import sh.fountain.fountain.runtime.TypeUtils;
+import sh.fountain.fountain.runtime.component_index.ComponentIndex;
 import com.destroystokyo.paper.utils.PaperPluginLogger;
+import com.google.common.base.Suppliers;
+import com.google.common.reflect.TypeToken;
 import org.reflections.Reflections;
 
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import static org.reflections.scanners.Scanners.TypesAnnotated;
 
@@ -33,6 +44,17 @@ import static org.reflections.scanners.Scanners.TypesAnnotated;
  *    Providers are invoked lazily, ie. only when a value for a token is requested
  *    or when the result of a provider is required for another provider (eg. class constructor arguments)
  * </li>
+ *  <li>
+ *    After the injector has been {@linkplain #freeze(Logger) frozen} no further providers can be registered.
+ *    Values are then resolved using a precompiled {@link ResolutionPlan} instead of walking the provider graph.
+ *  </li>
+ *  <li>
+ *    Values are singletons unless their class declares a different {@link InjectionScope} via {@link Scoped}.
+ *  </li>
+ *  <li>
+ *    The injector may be used from multiple threads. Every value is constructed exactly once,
+ *    construction only locks the provider of said value and reading an already constructed value does not lock at all.
+ *  </li>
  * </ul>
  */
 @Injectable(useConstructor = false)
@@ -40,12 +62,48 @@ public class DependencyInjector {
     private static final Set<Class<?>> IMPLICITLY_INJECTABLES = Set.of(Optional.class, Supplier.class, Logger.class,
             PaperPluginLogger.class);
 
-    private final Map<InjectionToken<?>, InjectionValueProvider<?>> providers = new HashMap<>();
+    /**
+     * The tokens of a class and all of its injectable supertypes, computed once per class
+     */
+    private static final ClassValue<List<InjectionToken<?>>> INJECTABLE_TOKENS = new ClassValue<>() {
+        @Override
+        protected List<InjectionToken<?>> computeValue(Class<?> type) {
+            final var tokens = new LinkedHashSet<InjectionToken<?>>();
+            tokens.add(InjectionToken.forType(type));
+            for (final var superType : TypeToken.of(type).getTypes()) {
+                if (isInjectable(superType.getType())) {
+                    tokens.add(InjectionToken.forType(superType.getType()));
+                }
+            }
+
+            return List.copyOf(tokens);
+        }
+    };
+
+    private final Map<InjectionToken<?>, InjectionValueProvider<?>> providers = new ConcurrentHashMap<>();
+    private final ConstructionProfiler profiler = new ConstructionProfiler();
+    private volatile Optional<ResolutionPlan> plan = Optional.empty();
 
     public DependencyInjector() {
         registerValue(this);
     }
 
+    /**
+     * Creates a child injector which falls back to a parent injector for tokens it has no provider for
+     * <p>The child inherits the {@link InjectionScope#SINGLETON} and {@link InjectionScope#PROTOTYPE} values of the parent,
+     * except for values depending on the parent injector itself or on a class annotated with {@link NotInherited}.
+     * Providers registered with the child take precedence over inherited ones.</p>
+     *
+     * @param parent the frozen parent injector
+     * @throws IllegalArgumentException if {@code parent} has not been frozen
+     */
+    public DependencyInjector(DependencyInjector parent) {
+        this();
+        final var parentPlan = parent.plan
+                .orElseThrow(() -> new IllegalArgumentException("The parent injector must be frozen"));
+        parentPlan.inheritableProviders().forEach(providers::putIfAbsent);
+    }
+
     /**
      * Returns if a type is injectable
      * <p>A type is considered to be injectable if one of the following properties is true:</p>
@@ -62,17 +120,45 @@ public class DependencyInjector {
         return clazz.isAnnotationPresent(Injectable.class) || IMPLICITLY_INJECTABLES.contains(clazz);
     }
 
+    /**
+     * Returns the scope of an injectable class as declared by {@link Scoped}
+     *
+     * @param type the injectable class
+     * @return the scope, {@link InjectionScope#SINGLETON} if none has been declared
+     */
+    public static InjectionScope scopeOf(Class<?> type) {
+        return Optional.ofNullable(type.getAnnotation(Scoped.class))
+                .map(Scoped::value)
+                .orElse(InjectionScope.SINGLETON);
+    }
+
     public void registerFromAnnotations(Reflections reflections, Logger logger) {
+        registerFromAnnotations(reflections, logger, type -> true);
+    }
+
+    /**
+     * Register the constructors of all injectable types found by {@code reflections} which match {@code filter}
+     *
+     * @param reflections the reflections to query for injectable types
+     * @param logger the logger to report types that could not be registered to
+     * @param filter selects which of the found types to register
+     */
+    public void registerFromAnnotations(Reflections reflections, Logger logger, Predicate<Class<?>> filter) {
         final var injectables = reflections.get(TypesAnnotated.with(Injectable.class).asClass());
+        final var batch = new ArrayList<InjectionValueProvider<?>>(injectables.size());
 
         for (final var injectable : injectables) {
+            if (!filter.test(injectable)) {
+                continue;
+            }
+
             try {
                 final var clazz = TypeUtils.classOf(injectable);
                 if (!clazz.isInterface()
                         && !Modifier.isAbstract(clazz.getModifiers())
                         && clazz.getAnnotation(Injectable.class).useConstructor()) {
 
-                    registerConstructor(injectable);
+                    batch.add(new ConstructorValueProvider<>(clazz, this));
                 }
 
             } catch (Exception exception) {
@@ -81,6 +167,52 @@ public class DependencyInjector {
                 exception.printStackTrace();
             }
         }
+
+        try {
+            registerAll(batch);
+
+        } catch (ProviderCollisionException exception) {
+            logger.severe("Failed to register injectables: %s".formatted(exception.getMessage()));
+        }
+    }
+
+    /**
+     * Register the generated {@link ComponentFactory}s listed in a {@link ComponentIndex}
+     *
+     * @param index the index listing the factories
+     * @param classLoader the class loader to load the factories with
+     * @param logger the logger to report factories that could not be registered to
+     */
+    public void registerFromComponentIndex(ComponentIndex index, ClassLoader classLoader, Logger logger) {
+        registerFromComponentIndex(index, classLoader, logger, type -> true);
+    }
+
+    /**
+     * Register the generated {@link ComponentFactory}s listed in a {@link ComponentIndex} whose types match {@code filter}
+     *
+     * @param index the index listing the factories
+     * @param classLoader the class loader to load the factories with
+     * @param logger the logger to report factories that could not be registered to
+     * @param filter selects the types whose factories to register
+     */
+    public void registerFromComponentIndex(ComponentIndex index, ClassLoader classLoader, Logger logger,
+            Predicate<Class<?>> filter) {
+        for (final var factoryName : index.factories()) {
+            try {
+                final var factory = (ComponentFactory<?>) Class.forName(factoryName, true, classLoader)
+                        .getConstructor()
+                        .newInstance();
+
+                if (filter.test(factory.type())) {
+                    registerFactory(factory);
+                }
+
+            } catch (Exception exception) {
+                logger.severe("Failed to register %s as an injectable: %s".formatted(factoryName,
+                        exception.getMessage()));
+                exception.printStackTrace();
+            }
+        }
     }
 
     /**
@@ -92,11 +224,7 @@ public class DependencyInjector {
      * @throws TypeNotInjectableException if {@code T} is not injectable
      */
     public <T> void registerValue(T value) {
-        final var provider = new StaticValueProvider<>(value);
-        registerProvider(InjectionToken.forType(value.getClass()), provider);
-        allInjectableSuperTypes(value.getClass()).stream()
-                .map(InjectionToken::forType)
-                .forEach(token -> registerProvider(token, provider));
+        registerAll(List.of(new StaticValueProvider<>(value)));
     }
 
     /**
@@ -108,27 +236,115 @@ public class DependencyInjector {
      * @throws TypeNotInjectableException if {@code T} is not injectable
      */
     public <T> void registerConstructor(Class<T> type) {
-        final var provider = new ConstructorValueProvider<>(type, this);
-        registerProvider(InjectionToken.forType(type), provider);
-        allInjectableSuperTypes(type).stream()
-                .map(InjectionToken::forType)
-                .forEach(token -> registerProvider(token, provider));
+        registerAll(List.of(new ConstructorValueProvider<>(type, this)));
     }
 
-    private Set<Type> allInjectableSuperTypes(Type type) {
-        return com.google.common.reflect.TypeToken.of(type).getTypes().stream()
-                .map(com.google.common.reflect.TypeToken::getType)
-                .filter(DependencyInjector::isInjectable)
-                .collect(Collectors.toSet());
+    /**
+     * Register the constructors of multiple types at once, see {@link #registerConstructor(Class)}
+     * <p>Unlike registering the types one by one, every token is registered even if other tokens collide.
+     * All collisions are reported together afterwards.</p>
+     *
+     * @param types the concrete types whose constructors should be used
+     * @throws ProviderCollisionException if providers have allready been registered for any of the tokens,
+     *                                    with one suppressed exception per collision
+     * @throws TypeNotInjectableException if any of the types is not injectable
+     */
+    public void registerConstructors(Collection<? extends Class<?>> types) {
+        final var batch = new ArrayList<InjectionValueProvider<?>>(types.size());
+        for (final var type : types) {
+            batch.add(new ConstructorValueProvider<>(type, this));
+        }
+
+        registerAll(batch);
     }
 
-    private void registerProvider(InjectionToken<?> token, InjectionValueProvider<?> provider) {
-        final var registeredProviders = Optional.ofNullable(providers.get(token));
-        if (!registeredProviders.map(provider::equals).orElse(true)) {
-            throw new ProviderCollisionException(token, registeredProviders.get(), provider);
+    /**
+     * Register a factory to be invoked for the tokens {@code T}s type and all of {@code T}s injectable supertypes
+     *
+     * @param <T> the type of value
+     * @param factory the factory constructing values of type {@code T}
+     * @throws ProviderCollisionException if a provider has allready been registered
+     * @throws TypeNotInjectableException if {@code T} is not injectable
+     */
+    public <T> void registerFactory(ComponentFactory<T> factory) {
+        registerAll(List.of(new FactoryValueProvider<>(factory, this)));
+    }
+
+    private void registerAll(List<InjectionValueProvider<?>> batch) {
+        final var collisions = new ArrayList<ProviderCollisionException>();
+        for (final var provider : batch) {
+            for (final var token : INJECTABLE_TOKENS.get(provider.type())) {
+                registerProvider(token, provider).ifPresent(collisions::add);
+            }
+        }
+
+        if (!collisions.isEmpty()) {
+            throw ProviderCollisionException.combine(collisions);
         }
+    }
+
+    private Optional<ProviderCollisionException> registerProvider(InjectionToken<?> token,
+            InjectionValueProvider<?> provider) {
+        if (plan.isPresent()) {
+            throw new IllegalStateException("Cannot register %s for %s, the injector has already been frozen"
+                    .formatted(provider.name(), token.name()));
+        }
+
+        final var registeredProvider = providers.putIfAbsent(token, provider);
+        if (registeredProvider instanceof ParentValueProvider<?> && providers.replace(token, registeredProvider, provider)) {
+            return Optional.empty();
+        }
+
+        return registeredProvider != null && !registeredProvider.equals(provider)
+                ? Optional.of(new ProviderCollisionException(token, registeredProvider, provider))
+                : Optional.empty();
+    }
+
+    /**
+     * Returns if the value for a type is inherited from a parent injector
+     *
+     * @param type the injectable type
+     * @return if no provider has been registered for {@code type} with this injector but its parent provides a value
+     * @see #DependencyInjector(DependencyInjector)
+     */
+    public boolean inherits(Class<?> type) {
+        return providers.get(InjectionToken.forType(type)) instanceof ParentValueProvider<?>;
+    }
 
-        providers.put(token, provider);
+    /**
+     * Returns the profiler recording the constructions of this injector
+     *
+     * @return the profiler, disabled unless enabled explicitly
+     */
+    public ConstructionProfiler profiler() {
+        return profiler;
+    }
+
+    /**
+     * Checks the graph of all registered providers and compiles it into a {@link ResolutionPlan}
+     * <p>Dependency cycles are reported to {@code logger}. Requesting a value whose providers form a cycle or lack a
+     * dependency still fails with a {@link FailedToInjectException}, but only when the value is requested.
+     * Afterwards no further providers may be registered.</p>
+     *
+     * @param logger the logger to report dependency cycles to
+     */
+    public void freeze(Logger logger) {
+        plan = Optional.of(ResolutionPlan.of(providers, profiler, logger));
+    }
+
+    /**
+     * Constructs all values of a frozen injector up front
+     * <p>Values which do not depend on each other are constructed in parallel on {@code executor}, values of types
+     * annotated with {@link sh.fountain.fountain.api.dependency_injection.MainThreadOnly} on the calling thread.
+     * Blocks until all values have been constructed.</p>
+     *
+     * @param executor the executor to construct values on
+     * @param logger the logger to report values that could not be constructed to
+     * @throws IllegalStateException if the injector has not been frozen
+     */
+    public void instantiateAll(Executor executor, Logger logger) {
+        plan.orElseThrow(() -> new IllegalStateException("The injector must be frozen before instantiating values"))
+                .instantiateAll(executor, logger);
     }
 
     /**
@@ -136,16 +352,61 @@ public class DependencyInjector {
      * <p>If the Type represented by {@code token} is {@link Optional} with type argument {@code U}, and a provider for {@code U}
      * has been registered then {@code Optional.of(valueFor(new TypeToken<U>(){}))} is returned,
      * otherwise {@code Optional.empty()} is returned.</p>
+     * <p>If the Type represented by {@code token} is {@link Supplier} with type argument {@code U} a supplier is returned
+     * which requests the value for {@code U} on its first invocation and memoizes it. Thus constructing {@code U} is deferred
+     * until it is actually needed, which also allows values to depend on each other through suppliers.</p>
      *
      * @param <T> the type of value
      * @param token the token to retrieve a value for
      * @return the value registered for {@code token}
      */
     public <T> T valueFor(InjectionToken<T> token) {
+        final var frozenPlan = plan;
+        if (frozenPlan.isPresent()) {
+            return frozenPlan.get().valueFor(token, InjectionContext.NONE);
+        }
+
         final var notYetResolvedTypes = new Stack<InjectionToken<?>>();
         return valueFor(token, notYetResolvedTypes);
     }
 
+    /**
+     * Returns the value for a given non generic type
+     * <p>Once the injector has been frozen this does not allocate a token for registered types.</p>
+     *
+     * @param <T> the type of value
+     * @param type the type to retrieve a value for
+     * @return the value registered for {@code type}
+     * @see #valueFor(InjectionToken)
+     */
+    public <T> T valueFor(Class<T> type) {
+        final var frozenPlan = plan;
+        if (frozenPlan.isPresent()) {
+            final var slot = frozenPlan.get().slotOf(type);
+            if (slot >= 0) {
+                return type.cast(frozenPlan.get().value(slot, InjectionContext.NONE));
+            }
+        }
+
+        return valueFor(InjectionToken.forType(type));
+    }
+
+    /**
+     * Returns the value for a given {@code InjectionToken} within a {@link InjectionContext}
+     * <p>Required to request values of {@link InjectionScope#PLAYER} or {@link InjectionScope#COMMAND_INVOCATION} scope.</p>
+     *
+     * @param <T> the type of value
+     * @param token the token to retrieve a value for
+     * @param context the player or command invocation to retrieve the value for
+     * @return the value registered for {@code token}
+     * @throws IllegalStateException if the injector has not been frozen
+     * @see #valueFor(InjectionToken)
+     */
+    public <T> T valueFor(InjectionToken<T> token, InjectionContext context) {
+        return plan.orElseThrow(() -> new IllegalStateException("Scoped values require a frozen injector"))
+                .valueFor(token, context);
+    }
+
     @SuppressWarnings("unchecked")
     <T> T valueFor(InjectionToken<T> token, Stack<InjectionToken<?>> notYetResolvedTypes) {
         final var provider = providers.get(token);
@@ -159,10 +420,31 @@ public class DependencyInjector {
                     : (T) Optional.empty();
         }
 
+        if (token.impl().getRawType().equals(Supplier.class)) {
+            final var underlyingToken = InjectionToken
+                    .forType(((ParameterizedType) token.impl().getType()).getActualTypeArguments()[0]);
+
+            if (!providers.containsKey(underlyingToken)) {
+                throw FailedToInjectException.missingProvider(token);
+            }
+
+            // resolved with a fresh stack, a supplier does not take part in the current resolution
+            return (T) Suppliers.memoize(() -> valueFor(underlyingToken));
+        }
+
         if (provider == null) {
             throw FailedToInjectException.missingProvider(token);
         }
 
         return (T) provider.value(notYetResolvedTypes);
     }
+
+    /**
+     * Drops all {@link InjectionScope#PLAYER} scoped values of a player
+     *
+     * @param player the unique id of the player
+     */
+    public void evictPlayer(UUID player) {
+        plan.ifPresent(p -> p.evictPlayer(player));
+    }
 }
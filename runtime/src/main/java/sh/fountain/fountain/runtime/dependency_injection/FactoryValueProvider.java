@@ -0,0 +1,64 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+
+import java.util.List;
+
+/**
+ * Represents an {@link InjectionValueProvider} that produces a value by invoking a generated {@link ComponentFactory}
+ */
+final class FactoryValueProvider<T> extends ConstructingValueProvider<T> {
+    private final ComponentFactory<T> factory;
+    private final InjectionScope scope;
+
+    public FactoryValueProvider(ComponentFactory<T> factory, DependencyInjector injector) {
+        super(injector);
+        this.factory = factory;
+        if (!DependencyInjector.isInjectable(factory.type())) {
+            throw TypeNotInjectableException.missingAnnotation(factory.type());
+        }
+
+        scope = DependencyInjector.scopeOf(factory.type());
+    }
+
+    @Override
+    public Class<T> type() {
+        return factory.type();
+    }
+
+    @Override
+    public InjectionScope scope() {
+        return scope;
+    }
+
+    public String name() {
+        return "Factory:" + factory.type().getName();
+    }
+
+    @Override
+    public T construct(Object[] dependencies) {
+        try {
+            return factory.create(dependencies);
+
+        } catch (Exception exception) {
+            throw new FailedToInjectException(
+                    "Failed to construct instance of %s".formatted(factory.type().getCanonicalName()),
+                    exception);
+        }
+    }
+
+    @Override
+    public List<InjectionToken<?>> dependencies() {
+        return factory.dependencies();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FactoryValueProvider<?> f && f.factory.type().equals(factory.type());
+    }
+
+    @Override
+    public int hashCode() {
+        return factory.type().hashCode();
+    }
+}
@@ -1,5 +1,7 @@
 package sh.fountain.fountain.runtime.dependency_injection;
 
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+
 public class FailedToInjectException extends DependencyInjectionException {
 
     public FailedToInjectException(String message) {
@@ -13,4 +15,15 @@ public class FailedToInjectException extends DependencyInjectionException {
     public static FailedToInjectException missingProvider(InjectionToken<?> token) {
         return new FailedToInjectException("No provider for token %s has been registered".formatted(token.name()));
     }
+
+    public static FailedToInjectException outOfScope(String providerName, InjectionScope scope) {
+        return new FailedToInjectException(
+                "%s can not be provided outside of scope %s".formatted(providerName, scope.name().toLowerCase()));
+    }
+
+    public static FailedToInjectException narrowerScope(String providerName, InjectionScope scope,
+            InjectionToken<?> dependency, InjectionScope dependencyScope) {
+        return new FailedToInjectException("%s of scope %s may not depend on %s of the narrower scope %s".formatted(
+                providerName, scope.name().toLowerCase(), dependency.name(), dependencyScope.name().toLowerCase()));
+    }
 }
@@ -0,0 +1,66 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The context in which values of non singleton {@link InjectionScope}s are requested
+ * <p>{@link InjectionScope#PLAYER} scoped values require a player, {@link InjectionScope#COMMAND_INVOCATION} scoped values
+ * a command invocation. Values of an invocation are kept by the context itself and dropped together with it.</p>
+ */
+public final class InjectionContext {
+    /**
+     * The context without any player or command invocation
+     */
+    public static final InjectionContext NONE = new InjectionContext(Optional.empty(), Optional.empty());
+
+    private final Optional<UUID> player;
+    private final Optional<Map<InjectionValueProvider<?>, Object>> invocationValues;
+
+    private InjectionContext(Optional<UUID> player, Optional<Map<InjectionValueProvider<?>, Object>> invocationValues) {
+        this.player = player;
+        this.invocationValues = invocationValues;
+    }
+
+    public static InjectionContext forPlayer(UUID player) {
+        return new InjectionContext(Optional.of(player), Optional.empty());
+    }
+
+    /**
+     * Creates the context of a new command invocation
+     *
+     * @param player the player who invoked the command, if any
+     * @return the context
+     */
+    public static InjectionContext forCommandInvocation(Optional<UUID> player) {
+        return new InjectionContext(player, Optional.of(new ConcurrentHashMap<>()));
+    }
+
+    public Optional<UUID> player() {
+        return player;
+    }
+
+    Optional<Map<InjectionValueProvider<?>, Object>> invocationValues() {
+        return invocationValues;
+    }
+
+    /**
+     * Returns the context the dependencies of a value of scope {@code scope} are resolved in
+     * <p>Values of a wider scope must not capture values of a narrower scope,
+     * thus the narrower parts of the context are removed.</p>
+     *
+     * @param scope the scope of the dependent value
+     * @return the narrowed context
+     */
+    InjectionContext narrowTo(InjectionScope scope) {
+        return switch (scope) {
+            case SINGLETON -> NONE;
+            case PLAYER -> invocationValues.isPresent() ? new InjectionContext(player, Optional.empty()) : this;
+            case PROTOTYPE, COMMAND_INVOCATION -> this;
+        };
+    }
+}
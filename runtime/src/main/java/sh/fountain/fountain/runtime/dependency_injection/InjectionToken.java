@@ -1,5 +1,9 @@
 package sh.fountain.fountain.runtime.dependency_injection;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.reflect.TypeToken;
 
 import java.lang.reflect.ParameterizedType;
@@ -7,22 +11,44 @@ import java.lang.reflect.Type;
 
 /**
  * Base class of an {@link InjectionToken} representing an injectable type
+ * <p>Tokens created via {@link #forType(Type)} are canonical, ie. the same instance is returned for equal types.
+ * Tokens of classes are kept in a {@link ClassValue}, tokens of all other types in a weak interner.
+ * The tokens of other types are additionally cached by the identity of their {@link Type} instance, so requesting
+ * the token of the same instance again, eg. of a parameter type of a constructor, neither creates nor checks a new
+ * token. None of them keeps the class loaders of the types alive, so tokens of a plugin's types are dropped together
+ * with its class loader. Comparing two canonical tokens is thus a reference comparison.</p>
  *
  * @see DependencyInjector#isInjectable(Type)
  */
 public abstract class InjectionToken<T> {
+    private static final ClassValue<InjectionToken<?>> CLASS_TOKENS = new ClassValue<>() {
+        @Override
+        protected InjectionToken<?> computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+    private static final Interner<InjectionToken<?>> INTERNED_TOKENS = Interners.newWeakInterner();
+    // weak keys are compared by identity
+    private static final Cache<Type, InjectionToken<?>> TYPE_TOKENS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .weakValues()
+            .build();
+
     private final TypeToken<T> impl;
+    private final int hash;
 
     @SuppressWarnings("unchecked")
     protected InjectionToken() {
         impl = (TypeToken<T>) TypeToken
                 .of(((ParameterizedType) getClass().getGenericSuperclass())
                         .getActualTypeArguments()[0]);
+        hash = impl.hashCode();
         checkType();
     }
 
     InjectionToken(TypeToken<T> impl) {
         this.impl = impl;
+        hash = impl.hashCode();
 
         checkType();
     }
@@ -40,8 +66,18 @@ public abstract class InjectionToken<T> {
      */
     @SuppressWarnings("unchecked")
     public static <T> InjectionToken<T> forType(Type type) {
-        return new InjectionToken<>((TypeToken<T>) TypeToken.of(type)) {
-        };
+        if (type instanceof Class<?> c) {
+            return (InjectionToken<T>) CLASS_TOKENS.get(c);
+        }
+
+        final var cached = TYPE_TOKENS.getIfPresent(type);
+        if (cached != null) {
+            return (InjectionToken<T>) cached;
+        }
+
+        final var token = INTERNED_TOKENS.intern(create(type));
+        TYPE_TOKENS.put(type, token);
+        return (InjectionToken<T>) token;
     }
 
     /**
@@ -56,7 +92,12 @@ public abstract class InjectionToken<T> {
     }
 
     public static <T> InjectionToken<T> from(TypeToken<T> impl) {
-        return new InjectionToken<>(impl) {
+        return forType(impl.getType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> InjectionToken<T> create(Type type) {
+        return new InjectionToken<>((TypeToken<T>) TypeToken.of(type)) {
         };
     }
 
@@ -80,12 +121,12 @@ public abstract class InjectionToken<T> {
 
     @Override
     public int hashCode() {
-        return impl.hashCode();
+        return hash;
     }
 
     @Override
     public boolean equals(Object other) {
-        return other instanceof InjectionToken<?> o && impl.equals(o.impl);
+        return this == other || other instanceof InjectionToken<?> o && hash == o.hash && impl.equals(o.impl);
     }
 
 }
@@ -1,6 +1,10 @@
 package sh.fountain.fountain.runtime.dependency_injection;
 
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+
+import java.util.List;
 import java.util.Stack;
+import java.util.function.Supplier;
 
 /**
  * Interface of a value provider
@@ -8,8 +12,41 @@ import java.util.Stack;
  * <p>An injection value provider encapsulates how a {@link DependencyInjector}
  * resolves a value for a given {@link InjectionToken}.</p>
  */
-sealed interface InjectionValueProvider<T> permits ConstructorValueProvider, StaticValueProvider {
+sealed interface InjectionValueProvider<T> permits ConstructingValueProvider, ParentValueProvider,
+        StaticValueProvider {
     T value(Stack<InjectionToken<?>> notYetResolvedTypes);
 
+    /**
+     * Returns the value, resolving the values of its dependencies only if the value has to be constructed
+     *
+     * @param dependencies resolves the values for the tokens returned by {@link #dependencies()}, in the same order
+     * @return the value
+     */
+    T value(Supplier<Object[]> dependencies);
+
+    /**
+     * Constructs a new value given the already resolved values of its dependencies, bypassing any cache
+     *
+     * @param dependencies the values for the tokens returned by {@link #dependencies()}, in the same order
+     * @return the new value
+     */
+    T construct(Object[] dependencies);
+
+    /**
+     * Returns the tokens whose values are required to provide a value
+     *
+     * @return the dependencies of the provider
+     */
+    List<InjectionToken<?>> dependencies();
+
+    /**
+     * Returns the concrete type of the provided value
+     *
+     * @return the type of the value
+     */
+    Class<?> type();
+
+    InjectionScope scope();
+
     String name();
 }
@@ -0,0 +1,22 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an injectable class whose values hold the state of a single plugin
+ *
+ * <p>Like values depending on the injector itself, values of such a class and all values depending on them are bound
+ * to the injector constructing them, thus never inherited by a child injector.
+ * Every plugin using a {@link sh.fountain.fountain.runtime.plugin.SharedRuntime} constructs its own instead.</p>
+ *
+ * @see DependencyInjector#DependencyInjector(DependencyInjector)
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NotInherited {
+}
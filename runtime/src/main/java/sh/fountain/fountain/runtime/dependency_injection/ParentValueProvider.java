@@ -0,0 +1,59 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+
+import java.util.List;
+import java.util.Stack;
+import java.util.function.Supplier;
+
+/**
+ * Provides the value of a slot of a parent injectors {@link ResolutionPlan} to a child injector
+ *
+ * @param <T> the type of value
+ * @param plan the plan of the parent injector
+ * @param slot the slot of the inherited provider within {@code plan}
+ * @param provider the inherited provider
+ */
+record ParentValueProvider<T>(ResolutionPlan plan, int slot, InjectionValueProvider<T> provider)
+        implements InjectionValueProvider<T> {
+
+    @Override
+    public T value(Stack<InjectionToken<?>> notYetResolvedTypes) {
+        return parentValue();
+    }
+
+    @Override
+    public T value(Supplier<Object[]> dependencies) {
+        return parentValue();
+    }
+
+    @Override
+    public T construct(Object[] dependencies) {
+        return parentValue();
+    }
+
+    @Override
+    public List<InjectionToken<?>> dependencies() {
+        return List.of();
+    }
+
+    @Override
+    public Class<?> type() {
+        return provider.type();
+    }
+
+    @Override
+    public InjectionScope scope() {
+        return provider.scope();
+    }
+
+    @Override
+    public String name() {
+        return "Parent:" + provider.name();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T parentValue() {
+        return (T) plan.value(slot, InjectionContext.NONE);
+    }
+}
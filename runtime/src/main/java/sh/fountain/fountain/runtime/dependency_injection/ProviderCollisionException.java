@@ -1,9 +1,33 @@
 package sh.fountain.fountain.runtime.dependency_injection;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class ProviderCollisionException extends DependencyInjectionException {
     public ProviderCollisionException(InjectionToken<?> token, InjectionValueProvider<?> registeredProvider,
                                       InjectionValueProvider<?> collidingProvider) {
         super("Tried to register provider %s for token %s but provider %s has already been registered"
                 .formatted(collidingProvider.name(), token.name(), registeredProvider.name()));
     }
+
+    private ProviderCollisionException(String message) {
+        super(message);
+    }
+
+    /**
+     * Combines the collisions of a batch registration into a single exception
+     *
+     * @param collisions the collisions, must not be empty
+     * @return the only collision, or an exception listing all collisions with each of them suppressed
+     */
+    public static ProviderCollisionException combine(List<ProviderCollisionException> collisions) {
+        if (collisions.size() == 1) {
+            return collisions.get(0);
+        }
+
+        final var combined = new ProviderCollisionException("%d provider collisions:\n%s".formatted(collisions.size(),
+                collisions.stream().map(Exception::getMessage).collect(Collectors.joining("\n"))));
+        collisions.forEach(combined::addSuppressed);
+        return combined;
+    }
 }
@@ -0,0 +1,505 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+import sh.fountain.fountain.api.dependency_injection.MainThreadOnly;
+import sh.fountain.fountain.api.dependency_injection.Scoped;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Stack;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * An immutable snapshot of the provider graph of a {@link DependencyInjector}
+ * <p>Every distinct provider is assigned a dense slot and the dependencies of every provider are resolved to slots up front.
+ * The graph is checked for missing providers, dependency cycles and dependencies on values of a narrower scope once,
+ * when the plan is built.
+ * Tokens are resolved to their slot once as well, looking up a value is thus a single map lookup by the cached hash
+ * of the token followed by array indexing.
+ * Constructed singletons are published through an {@link AtomicReferenceArray} so the plan can be shared between threads.
+ * Values of {@link InjectionScope#PLAYER} scope are kept in a bounded cache per provider,
+ * values of {@link InjectionScope#COMMAND_INVOCATION} scope by the {@link InjectionContext} of the invocation.</p>
+ */
+final class ResolutionPlan {
+    private static final int MISSING = -1;
+
+    private enum DependencyKind {
+        VALUE,
+        OPTIONAL,
+        SUPPLIER
+    }
+
+    private record Dependency(int slot, DependencyKind kind) {
+    }
+
+    private final Map<Type, Integer> slots;
+    private final Map<InjectionToken<?>, Dependency> resolvedTokens;
+    private final InjectionValueProvider<?>[] providers;
+    private final Dependency[][] dependencies;
+    private final DependencyInjectionException[] errors;
+    private final AtomicReferenceArray<Object> instances;
+    private final Cache<UUID, Object>[] playerValues;
+    private final ConstructionProfiler profiler;
+
+    private ResolutionPlan(Map<Type, Integer> slots, Map<InjectionToken<?>, Dependency> resolvedTokens,
+            InjectionValueProvider<?>[] providers, Dependency[][] dependencies, DependencyInjectionException[] errors,
+            ConstructionProfiler profiler) {
+        this.slots = slots;
+        this.resolvedTokens = new ConcurrentHashMap<>(resolvedTokens);
+        this.providers = providers;
+        this.dependencies = dependencies;
+        this.errors = errors;
+        this.instances = new AtomicReferenceArray<>(providers.length);
+        this.playerValues = playerValueCaches(providers);
+        this.profiler = profiler;
+    }
+
+    /**
+     * Builds a plan for a set of registered providers
+     *
+     * @param registeredProviders the providers by the tokens they have been registered for
+     * @param profiler the profiler to record constructions with
+     * @param logger the logger to report dependency cycles and dependencies on narrower scopes to
+     * @return the plan
+     */
+    static ResolutionPlan of(Map<InjectionToken<?>, InjectionValueProvider<?>> registeredProviders,
+            ConstructionProfiler profiler, Logger logger) {
+        final var slotOfProvider = new IdentityHashMap<InjectionValueProvider<?>, Integer>();
+        final var providers = new ArrayList<InjectionValueProvider<?>>();
+        final var slots = new HashMap<Type, Integer>();
+        final var resolvedTokens = new HashMap<InjectionToken<?>, Dependency>();
+
+        for (final var entry : registeredProviders.entrySet()) {
+            final var slot = slotOfProvider.computeIfAbsent(entry.getValue(), provider -> {
+                providers.add(provider);
+                return providers.size() - 1;
+            });
+            slots.put(entry.getKey().impl().getType(), slot);
+        }
+
+        for (final var token : registeredProviders.keySet()) {
+            resolvedTokens.put(token, dependencyOf(token, slots));
+        }
+
+        final var dependencies = new Dependency[providers.size()][];
+        final var dependencyTokens = new ArrayList<List<InjectionToken<?>>>();
+        final var errors = new DependencyInjectionException[providers.size()];
+
+        for (var slot = 0; slot < providers.size(); ++slot) {
+            try {
+                final var tokens = providers.get(slot).dependencies();
+                dependencies[slot] = new Dependency[tokens.size()];
+                for (var i = 0; i < tokens.size(); ++i) {
+                    dependencies[slot][i] = resolvedTokens.computeIfAbsent(tokens.get(i),
+                            token -> dependencyOf(token, slots));
+                }
+                dependencyTokens.add(tokens);
+
+            } catch (DependencyInjectionException exception) {
+                dependencies[slot] = new Dependency[0];
+                dependencyTokens.add(List.of());
+                errors[slot] = failedToConstruct(providers.get(slot), exception);
+            }
+        }
+
+        final var plan = new ResolutionPlan(Map.copyOf(slots), resolvedTokens,
+                providers.toArray(InjectionValueProvider<?>[]::new), dependencies, errors, profiler);
+        plan.check(dependencyTokens, registeredProviders, logger);
+
+        return plan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<UUID, Object>[] playerValueCaches(InjectionValueProvider<?>[] providers) {
+        final var caches = (Cache<UUID, Object>[]) new Cache<?, ?>[providers.length];
+        for (var slot = 0; slot < providers.length; ++slot) {
+            if (providers[slot].scope().equals(InjectionScope.PLAYER)) {
+                caches[slot] = CacheBuilder.newBuilder()
+                        .maximumSize(providers[slot].type().getAnnotation(Scoped.class).maximumSize())
+                        .build();
+            }
+        }
+
+        return caches;
+    }
+
+    private static Dependency dependencyOf(InjectionToken<?> token, Map<Type, Integer> slots) {
+        final var rawType = token.impl().getRawType();
+        if (rawType.equals(Optional.class) || rawType.equals(Supplier.class)) {
+            final var underlyingType = ((ParameterizedType) token.impl().getType()).getActualTypeArguments()[0];
+            return new Dependency(slots.getOrDefault(underlyingType, MISSING),
+                    rawType.equals(Optional.class) ? DependencyKind.OPTIONAL : DependencyKind.SUPPLIER);
+        }
+
+        return new Dependency(slots.getOrDefault(token.impl().getType(), MISSING), DependencyKind.VALUE);
+    }
+
+    private static FailedToInjectException failedToConstruct(InjectionValueProvider<?> provider, Exception reason) {
+        return new FailedToInjectException("Failed to construct instance of %s".formatted(provider.name()), reason);
+    }
+
+    private void check(List<List<InjectionToken<?>>> dependencyTokens,
+            Map<InjectionToken<?>, InjectionValueProvider<?>> registeredProviders, Logger logger) {
+        final var visited = new boolean[providers.length];
+        final var onPath = new boolean[providers.length];
+        final var path = new Stack<InjectionToken<?>>();
+
+        for (final var entry : registeredProviders.entrySet()) {
+            final var slot = slots.get(entry.getKey().impl().getType());
+            path.push(entry.getKey());
+            check(slot, dependencyTokens, visited, onPath, path, logger);
+            path.pop();
+        }
+    }
+
+    private void check(int slot, List<List<InjectionToken<?>>> dependencyTokens, boolean[] visited, boolean[] onPath,
+            Stack<InjectionToken<?>> path, Logger logger) {
+        if (visited[slot]) {
+            return;
+        }
+
+        onPath[slot] = true;
+
+        for (var i = 0; i < dependencies[slot].length && errors[slot] == null; ++i) {
+            final var dependency = dependencies[slot][i];
+            final var token = dependencyTokens.get(slot).get(i);
+
+            if (dependency.slot() == MISSING) {
+                if (!dependency.kind().equals(DependencyKind.OPTIONAL)) {
+                    errors[slot] = failedToConstruct(providers[slot], FailedToInjectException.missingProvider(token));
+                }
+                continue;
+            }
+
+            // suppliers are resolved lazily, thus neither form a cycle nor fail before being invoked
+            if (dependency.kind().equals(DependencyKind.SUPPLIER)) {
+                continue;
+            }
+
+            final var scope = providers[slot].scope();
+            final var dependencyScope = providers[dependency.slot()].scope();
+            if (isNarrower(dependencyScope, scope)) {
+                final var narrower = FailedToInjectException.narrowerScope(providers[slot].name(), scope, token,
+                        dependencyScope);
+                logger.severe(narrower.getMessage());
+                errors[slot] = failedToConstruct(providers[slot], narrower);
+                continue;
+            }
+
+            path.push(token);
+            if (onPath[dependency.slot()]) {
+                final var cycle = new DependencyCycleException(path);
+                logger.severe(cycle.getMessage());
+                errors[slot] = failedToConstruct(providers[slot], cycle);
+
+            } else {
+                check(dependency.slot(), dependencyTokens, visited, onPath, path, logger);
+                if (errors[dependency.slot()] != null) {
+                    errors[slot] = failedToConstruct(providers[slot], errors[dependency.slot()]);
+                }
+            }
+            path.pop();
+        }
+
+        onPath[slot] = false;
+        visited[slot] = true;
+    }
+
+    /**
+     * Checks whether values of a scope may outlive the values of another scope they depend on
+     * <p>Singletons and prototypes are constructed without a player or command invocation,
+     * player scoped values without a command invocation.</p>
+     *
+     * @param dependencyScope the scope of the dependency
+     * @param scope the scope of the dependent value
+     * @return whether {@code dependencyScope} is narrower than {@code scope}
+     */
+    private static boolean isNarrower(InjectionScope dependencyScope, InjectionScope scope) {
+        return switch (dependencyScope) {
+            case SINGLETON, PROTOTYPE -> false;
+            case PLAYER -> scope.equals(InjectionScope.SINGLETON) || scope.equals(InjectionScope.PROTOTYPE);
+            case COMMAND_INVOCATION -> !scope.equals(InjectionScope.COMMAND_INVOCATION);
+        };
+    }
+
+    /**
+     * Returns the slot of the provider registered for a type
+     *
+     * @param type the type to look up
+     * @return the slot or {@code -1} if no provider has been registered for {@code type}
+     */
+    int slotOf(Type type) {
+        final var slot = slots.get(type);
+        return slot == null ? MISSING : slot;
+    }
+
+    /**
+     * Returns providers for all values of this plan which a child injector may inherit
+     * <p>Only {@link InjectionScope#SINGLETON} and {@link InjectionScope#PROTOTYPE} values which can be constructed are
+     * inherited. Values depending on the injector itself or on a class annotated with {@link NotInherited} are bound to it
+     * and thus never inherited.</p>
+     *
+     * @return the providers by the tokens they provide values for
+     */
+    Map<InjectionToken<?>, InjectionValueProvider<?>> inheritableProviders() {
+        final var injectorSlot = slotOf(DependencyInjector.class);
+        final var boundToInjector = new Boolean[providers.length];
+        final var inheritedProviders = new InjectionValueProvider<?>[providers.length];
+        final var inheritable = new HashMap<InjectionToken<?>, InjectionValueProvider<?>>();
+
+        for (final var entry : slots.entrySet()) {
+            final int slot = entry.getValue();
+            final var scope = providers[slot].scope();
+            if (errors[slot] != null
+                    || isBoundToInjector(slot, injectorSlot, boundToInjector)
+                    || !(scope.equals(InjectionScope.SINGLETON) || scope.equals(InjectionScope.PROTOTYPE))) {
+                continue;
+            }
+
+            if (inheritedProviders[slot] == null) {
+                inheritedProviders[slot] = new ParentValueProvider<>(this, slot, providers[slot]);
+            }
+            inheritable.put(InjectionToken.forType(entry.getKey()), inheritedProviders[slot]);
+        }
+
+        return inheritable;
+    }
+
+    private boolean isBoundToInjector(int slot, int injectorSlot, Boolean[] bound) {
+        if (bound[slot] != null) {
+            return bound[slot];
+        }
+
+        if (slot == injectorSlot || providers[slot].type().isAnnotationPresent(NotInherited.class)) {
+            bound[slot] = true;
+            return true;
+        }
+
+        // the graph of a plan without errors is acyclic except for edges through suppliers
+        bound[slot] = false;
+        for (final var dependency : dependencies[slot]) {
+            if (dependency.slot() != MISSING && isBoundToInjector(dependency.slot(), injectorSlot, bound)) {
+                bound[slot] = true;
+                break;
+            }
+        }
+
+        return bound[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T valueFor(InjectionToken<T> token, InjectionContext context) {
+        var dependency = resolvedTokens.get(token);
+        if (dependency == null) {
+            dependency = dependencyOf(token, slots);
+            // the type of a token with a slot only refers to classes this plan retains anyway, caching it can not leak
+            // the class loader of a plugin which requested a value from a shared parent injector
+            if (dependency.slot() != MISSING) {
+                resolvedTokens.putIfAbsent(token, dependency);
+            }
+        }
+
+        if (dependency.slot() == MISSING && !dependency.kind().equals(DependencyKind.OPTIONAL)) {
+            throw FailedToInjectException.missingProvider(token);
+        }
+
+        return (T) argument(dependency, context);
+    }
+
+    /**
+     * Constructs the values of all providers whose dependencies can be satisfied
+     * <p>Values are constructed in dependency order, values which do not depend on each other in parallel on {@code executor}.
+     * Values of types annotated with {@link MainThreadOnly} are constructed on the calling thread,
+     * which blocks until all values have been constructed. Failures are logged and do not prevent other values
+     * from being constructed, requesting a failed value later on retries its construction.</p>
+     *
+     * @param executor the executor to construct values on
+     * @param logger the logger to report failures to
+     */
+    void instantiateAll(Executor executor, Logger logger) {
+        final var mainThreadTasks = new LinkedBlockingQueue<Runnable>();
+        final var futures = new CompletableFuture<?>[providers.length];
+
+        for (var slot = 0; slot < providers.length; ++slot) {
+            schedule(slot, futures, executor, mainThreadTasks::add, logger);
+        }
+
+        final var all = CompletableFuture.allOf(futures);
+        while (!all.isDone()) {
+            try {
+                final var task = mainThreadTasks.poll(10, TimeUnit.MILLISECONDS);
+                if (task != null) {
+                    task.run();
+                }
+
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<?> schedule(int slot, CompletableFuture<?>[] futures, Executor executor,
+            Executor mainThreadExecutor, Logger logger) {
+        if (futures[slot] != null) {
+            return futures[slot];
+        }
+
+        // values depending on a failed provider fail as well, thus are never scheduled.
+        // values of player and invocation scope can not be constructed up front
+        final var scope = providers[slot].scope();
+        if (errors[slot] != null
+                || !(scope.equals(InjectionScope.SINGLETON) || scope.equals(InjectionScope.PROTOTYPE))) {
+            futures[slot] = CompletableFuture.completedFuture(null);
+            return futures[slot];
+        }
+
+        final var dependencyFutures = Arrays.stream(dependencies[slot])
+                .filter(dependency -> dependency.slot() != MISSING)
+                .filter(dependency -> !dependency.kind().equals(DependencyKind.SUPPLIER))
+                .map(dependency -> schedule(dependency.slot(), futures, executor, mainThreadExecutor, logger))
+                .toArray(CompletableFuture<?>[]::new);
+
+        // prototypes are constructed by the values depending on them, on their thread. Their singleton dependencies
+        // must have been constructed before, so main thread only values are not constructed on that thread instead
+        if (scope.equals(InjectionScope.PROTOTYPE)) {
+            futures[slot] = CompletableFuture.allOf(dependencyFutures);
+            return futures[slot];
+        }
+
+        final var provider = providers[slot];
+        futures[slot] = CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> {
+            try {
+                value(slot, InjectionContext.NONE);
+
+            } catch (RuntimeException exception) {
+                logger.severe("Failed to eagerly construct %s: %s".formatted(provider.name(), exception.getMessage()));
+                throw exception;
+            }
+        }, provider.type().isAnnotationPresent(MainThreadOnly.class) ? mainThreadExecutor : executor);
+
+        return futures[slot];
+    }
+
+    Object value(int slot, InjectionContext context) {
+        final var instance = instances.get(slot);
+        return instance != null ? instance : resolve(slot, context);
+    }
+
+    /**
+     * Drops all {@link InjectionScope#PLAYER} scoped values of a player
+     *
+     * @param player the player to drop the values of
+     */
+    void evictPlayer(UUID player) {
+        for (final var cache : playerValues) {
+            if (cache != null) {
+                cache.invalidate(player);
+            }
+        }
+    }
+
+    private Object resolve(int slot, InjectionContext context) {
+        final var provider = providers[slot];
+        if (errors[slot] != null) {
+            throw new FailedToInjectException("Failed to inject %s".formatted(provider.name()), errors[slot]);
+        }
+
+        return switch (provider.scope()) {
+            case SINGLETON -> {
+                // the provider guarantees that only one instance is ever constructed and resolves the arguments
+                // while holding its lock. Cycles have been rejected when building the plan, cycles through suppliers
+                // invoked during construction are reported by the provider instead of deadlocking
+                final var instance = profiled(provider,
+                        () -> provider.value(() -> arguments(slot, InjectionContext.NONE)));
+                instances.set(slot, instance);
+                yield instance;
+            }
+            case PROTOTYPE -> profiled(provider, () -> provider.construct(arguments(slot, context)));
+            case PLAYER -> playerValue(slot, context);
+            case COMMAND_INVOCATION -> invocationValue(slot, context);
+        };
+    }
+
+    private Object playerValue(int slot, InjectionContext context) {
+        final var provider = providers[slot];
+        final var player = context.player()
+                .orElseThrow(() -> FailedToInjectException.outOfScope(provider.name(), InjectionScope.PLAYER));
+
+        try {
+            return playerValues[slot].get(player,
+                    () -> profiled(provider,
+                            () -> provider.construct(arguments(slot, context.narrowTo(InjectionScope.PLAYER)))));
+
+        } catch (ExecutionException | UncheckedExecutionException exception) {
+            throw new FailedToInjectException("Failed to construct instance of %s".formatted(provider.name()),
+                    exception.getCause());
+        }
+    }
+
+    private Object invocationValue(int slot, InjectionContext context) {
+        final var provider = providers[slot];
+        final var values = context.invocationValues()
+                .orElseThrow(() -> FailedToInjectException.outOfScope(provider.name(), InjectionScope.COMMAND_INVOCATION));
+
+        final var cached = values.get(provider);
+        if (cached != null) {
+            return cached;
+        }
+
+        // not computeIfAbsent, the construction may request further values of the same invocation
+        final var value = profiled(provider, () -> provider.construct(arguments(slot, context)));
+        final var previous = values.putIfAbsent(provider, value);
+
+        return previous != null ? previous : value;
+    }
+
+    private Object profiled(InjectionValueProvider<?> provider, Supplier<Object> construction) {
+        final var recorded = profiler.begin(provider.name());
+        try {
+            return construction.get();
+
+        } finally {
+            profiler.end(recorded);
+        }
+    }
+
+    private Object[] arguments(int slot, InjectionContext context) {
+        final var args = new Object[dependencies[slot].length];
+        for (var i = 0; i < args.length; ++i) {
+            args[i] = argument(dependencies[slot][i], context);
+        }
+
+        return args;
+    }
+
+    private Object argument(Dependency dependency, InjectionContext context) {
+        return switch (dependency.kind()) {
+            case VALUE -> value(dependency.slot(), context);
+            case OPTIONAL -> dependency.slot() == MISSING
+                    ? Optional.empty()
+                    : Optional.of(value(dependency.slot(), context));
+            case SUPPLIER -> Suppliers.memoize(() -> value(dependency.slot(), context));
+        };
+    }
+}
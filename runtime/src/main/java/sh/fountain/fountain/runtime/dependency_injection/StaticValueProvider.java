@@ -1,6 +1,10 @@
 package sh.fountain.fountain.runtime.dependency_injection;
 
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+
+import java.util.List;
 import java.util.Stack;
+import java.util.function.Supplier;
 
 record StaticValueProvider<T>(T value) implements InjectionValueProvider<T> {
 
@@ -9,6 +13,31 @@ record StaticValueProvider<T>(T value) implements InjectionValueProvider<T> {
         return value();
     }
 
+    @Override
+    public T value(Supplier<Object[]> dependencies) {
+        return value();
+    }
+
+    @Override
+    public T construct(Object[] dependencies) {
+        return value();
+    }
+
+    @Override
+    public List<InjectionToken<?>> dependencies() {
+        return List.of();
+    }
+
+    @Override
+    public Class<?> type() {
+        return value.getClass();
+    }
+
+    @Override
+    public InjectionScope scope() {
+        return InjectionScope.SINGLETON;
+    }
+
     @Override
     public String name() {
         return "StaticInstance:" + value.toString();
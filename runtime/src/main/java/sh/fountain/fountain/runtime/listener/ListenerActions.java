@@ -1,33 +1,38 @@
 package sh.fountain.fountain.runtime.listener;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.dependency_injection.MainThreadOnly;
 import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
+import sh.fountain.fountain.runtime.component_index.PluginComponents;
 import sh.fountain.fountain.runtime.dependency_injection.DependencyInjector;
 import sh.fountain.fountain.runtime.plugin.FountainPlugin;
-import sh.fountain.fountain.runtime.reflection.ReflectionsProvider;
+import sh.fountain.fountain.runtime.startup.StartupTimeline;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Listener;
 
 import java.util.stream.Collectors;
 
 @Injectable
+@MainThreadOnly
 public class ListenerActions implements PluginEnableAction {
-    private final ReflectionsProvider reflectionsProvider;
+    private final PluginComponents components;
     private final FountainPlugin plugin;
+    private final StartupTimeline timeline;
 
-    public ListenerActions(ReflectionsProvider reflectionsProvider, FountainPlugin plugin) {
-        this.reflectionsProvider = reflectionsProvider;
+    public ListenerActions(PluginComponents components, FountainPlugin plugin, StartupTimeline timeline) {
+        this.components = components;
         this.plugin = plugin;
+        this.timeline = timeline;
     }
 
     @Override
     public void onPluginEnable() {
-        final var listenerTypes = reflectionsProvider.reflections().getSubTypesOf(Listener.class)
+        final var listenerTypes = components.listeners()
                 .stream()
                 .collect(Collectors.groupingBy(DependencyInjector::isInjectable));
 
         for (final var listener : listenerTypes.get(true)) {
-            try {
+            try (final var span = timeline.begin("listener registration", listener.getCanonicalName())) {
                 Bukkit.getPluginManager().registerEvents(plugin.inject(listener), plugin);
             } catch (Exception exception) {
                 plugin.getLogger().severe("Failed to register listener %s: %s".formatted(listener.getCanonicalName(),
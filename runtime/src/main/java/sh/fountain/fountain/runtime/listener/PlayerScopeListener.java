@@ -0,0 +1,25 @@
+package sh.fountain.fountain.runtime.listener;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.runtime.dependency_injection.DependencyInjector;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Drops the {@link sh.fountain.fountain.api.dependency_injection.InjectionScope#PLAYER} scoped values of players leaving the server
+ */
+@Injectable
+public class PlayerScopeListener implements Listener {
+    private final DependencyInjector injector;
+
+    public PlayerScopeListener(DependencyInjector injector) {
+        this.injector = injector;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        injector.evictPlayer(event.getPlayer().getUniqueId());
+    }
+}
@@ -1,35 +1,120 @@
 package sh.fountain.fountain.runtime.plugin;
 
+import sh.fountain.fountain.api.dependency_injection.EagerInjection;
 import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin.RetainClasspathScan;
+import sh.fountain.fountain.api.plugin_actions.ParallelActions;
+import sh.fountain.fountain.runtime.component_index.ComponentIndex;
+import sh.fountain.fountain.runtime.component_index.PluginComponents;
 import sh.fountain.fountain.runtime.dependency_injection.DependencyInjector;
+import sh.fountain.fountain.runtime.dependency_injection.InjectionContext;
 import sh.fountain.fountain.runtime.dependency_injection.InjectionToken;
 import sh.fountain.fountain.runtime.plugin_actions.PluginActions;
 import sh.fountain.fountain.runtime.reflection.ReflectionsProvider;
+import sh.fountain.fountain.runtime.startup.StartupTimeline;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 @Injectable()
 public abstract class FountainPlugin extends JavaPlugin {
-    private final DependencyInjector injector = new DependencyInjector();
-    private final PluginActions actions = new PluginActions(injector, getLogger());
+    static final String FRAMEWORK_PACKAGE = "sh.fountain.fountain";
+    private static final String PROFILE_PROPERTY = "fountain.profileInjection";
+
+    private StartupTimeline timeline;
+    private DependencyInjector injector;
+    private PluginActions actions;
+    private Optional<ForkJoinPool> actionWorkers = Optional.empty();
+    private Optional<ExecutorService> warmupWorkers = Optional.empty();
+    private ReflectionsProvider reflectionsProvider;
 
     @Override
     public final void onLoad() {
+        timeline = new StartupTimeline(getName());
+        try (final var span = timeline.begin("injector creation")) {
+            injector = createInjector();
+        }
+        if (getClass().isAnnotationPresent(ParallelActions.class)) {
+            actionWorkers = Optional.of(new ForkJoinPool());
+        }
+        final Executor workers = actionWorkers.isPresent() ? actionWorkers.get() : Runnable::run;
+        actions = new PluginActions(injector, getLogger(), workers, timeline);
+        if (Boolean.getBoolean(PROFILE_PROPERTY)) {
+            injector.profiler().enable();
+        }
+
         injector.registerValue(this);
         injector.registerValue(getLogger());
-        final var reflections = new Reflections(
-                new ConfigurationBuilder()
-                        .forPackages(getClass().getPackageName(), "sh.fountain.fountain")
-                        .setScanners(Scanners.values()));
+        injector.registerValue(timeline);
+        final var packages = List.of(getClass().getPackageName(), FRAMEWORK_PACKAGE);
+
+        // packages compiled with the annotation processor are wired by their generated factories and component index
+        var components = PluginComponents.NONE;
+        final var unindexedPackages = new ArrayList<String>();
+        for (final var rootPackage : packages) {
+            // the framework may have been loaded by the host of a shared runtime
+            final var classLoader = rootPackage.equals(FRAMEWORK_PACKAGE)
+                    ? FountainPlugin.class.getClassLoader()
+                    : getClassLoader();
 
-        injector.registerFromAnnotations(reflections, getLogger());
-        injector.registerValue(new ReflectionsProvider(reflections));
+            try (final var span = timeline.begin("component index", rootPackage)) {
+                final var index = ComponentIndex.load(classLoader, rootPackage);
+                if (index.isPresent()) {
+                    injector.registerFromComponentIndex(index.get(), classLoader, getLogger(),
+                            type -> !injector.inherits(type));
+                    components = components.merge(PluginComponents.fromIndex(index.get(), classLoader, getLogger()));
+                } else {
+                    unindexedPackages.add(rootPackage);
+                }
+            }
+        }
 
-        actions.registerActions(reflections);
+        // only packages without an index are scanned
+        if (!unindexedPackages.isEmpty()) {
+            final Reflections reflections;
+            try (final var span = timeline.begin("classpath scan", String.join(", ", unindexedPackages))) {
+                reflections = scan(unindexedPackages);
+            }
+            try (final var span = timeline.begin("annotation registration")) {
+                injector.registerFromAnnotations(reflections, getLogger(), type -> !injector.inherits(type));
+                components = components.merge(PluginComponents.fromReflections(reflections));
+            }
+        }
+
+        injector.registerValue(components);
+        // scanned on demand only, for plugins querying the classpath themselves
+        reflectionsProvider = new ReflectionsProvider(() -> new Reflections(
+                new ConfigurationBuilder()
+                        .forPackages(packages.toArray(String[]::new))
+                        .setScanners(Scanners.values())));
+        injector.registerValue(reflectionsProvider);
+
+        actions.registerActions(components);
+        injector.registerValue(actions.warmups());
 
         actions.onLoad();
+        try (final var span = timeline.begin("injector freeze")) {
+            injector.freeze(getLogger());
+        }
+        if (getClass().isAnnotationPresent(EagerInjection.class)) {
+            instantiateEagerly();
+        }
 
         getLogger().info("Loaded %s successfully".formatted(getName()));
     }
@@ -37,15 +122,92 @@ public abstract class FountainPlugin extends JavaPlugin {
     @Override
     public final void onEnable() {
         actions.onEnable();
+        // the framework only needs the compact plugin components from now on
+        if (!getClass().isAnnotationPresent(RetainClasspathScan.class)) {
+            reflectionsProvider.release();
+        }
+
+        startWarmups();
+
+        if (injector.profiler().isEnabled()) {
+            reportConstructionProfile();
+        }
+
+        getLogger().info(timeline.complete());
         getLogger().info("Enabled %s successfully".formatted(getName()));
     }
 
     @Override
     public final void onDisable() {
+        // warm-ups still running are interrupted, their readiness futures never complete
+        warmupWorkers.ifPresent(ExecutorService::shutdownNow);
         actions.onDisable();
+        actionWorkers.ifPresent(ForkJoinPool::shutdown);
+        timeline.discard();
         getLogger().info("Disabled %s successfully".formatted(getName()));
     }
 
+    private DependencyInjector createInjector() {
+        final var sharedRuntime = SharedRuntime.lookup(getServer().getServicesManager());
+        if (sharedRuntime.isEmpty()) {
+            return new DependencyInjector();
+        }
+
+        getLogger().info("Using the shared Fountain runtime");
+        return new DependencyInjector(sharedRuntime.get().injector());
+    }
+
+    private void startWarmups() {
+        final var workers = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat(getName() + "-warmup-%d")
+                .setDaemon(true)
+                .build());
+        warmupWorkers = Optional.of(workers);
+
+        actions.startWarmups(workers);
+        actions.warmups().all().whenComplete((result, exception) -> workers.shutdown());
+    }
+
+    private void instantiateEagerly() {
+        final var begin = Instant.now();
+        final var pool = new ForkJoinPool();
+
+        try (final var span = timeline.begin("eager instantiation")) {
+            injector.instantiateAll(pool, getLogger());
+
+        } finally {
+            pool.shutdown();
+        }
+
+        getLogger().info("Instantiated injectables eagerly in %sms".formatted(begin.until(Instant.now(), ChronoUnit.MILLIS)));
+    }
+
+    private void reportConstructionProfile() {
+        final var report = injector.profiler().report();
+        injector.profiler().disable();
+        getLogger().info(report);
+
+        final var file = getDataFolder().toPath().resolve("injection-profile.txt");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report);
+
+        } catch (IOException exception) {
+            getLogger().warning("Failed to write construction profile to %s: %s".formatted(file, exception.getMessage()));
+        }
+    }
+
+    private static Reflections scan(List<String> packages) {
+        final var filter = new FilterBuilder();
+        packages.forEach(filter::includePackage);
+
+        return new Reflections(
+                new ConfigurationBuilder()
+                        .forPackages(packages.toArray(String[]::new))
+                        .filterInputsBy(filter)
+                        .setScanners(Scanners.values()));
+    }
+
     /**
      * Returns the instance for a given {@link Class} of type {@code T}
      *
@@ -55,6 +217,20 @@ public abstract class FountainPlugin extends JavaPlugin {
      * @throws sh.fountain.fountain.runtime.dependency_injection.DependencyInjectionException if injection fails
      */
     public <T> T inject(Class<T> clazz) {
-        return injector.valueFor(InjectionToken.forType(clazz));
+        return injector.valueFor(clazz);
+    }
+
+    /**
+     * Returns the instance for a given {@link Class} of type {@code T} in the scope of a player
+     * <p>Required for types of {@link sh.fountain.fountain.api.dependency_injection.InjectionScope#PLAYER} scope.</p>
+     *
+     * @param <T> the type of value
+     * @param clazz the clazz to retrieve an instance for
+     * @param player the player to retrieve the instance for
+     * @return the value registered for type {@code T}
+     * @throws sh.fountain.fountain.runtime.dependency_injection.DependencyInjectionException if injection fails
+     */
+    public <T> T inject(Class<T> clazz, Player player) {
+        return injector.valueFor(InjectionToken.forType(clazz), InjectionContext.forPlayer(player.getUniqueId()));
     }
 }
@@ -0,0 +1,82 @@
+package sh.fountain.fountain.runtime.plugin;
+
+import sh.fountain.fountain.runtime.component_index.ComponentIndex;
+import sh.fountain.fountain.runtime.dependency_injection.DependencyInjector;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.ServicePriority;
+import org.bukkit.plugin.ServicesManager;
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
+import org.reflections.util.ConfigurationBuilder;
+
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * The framework services shared by all Fountain plugins of a server
+ * <p>By default every plugin bundles its own copy of the runtime and constructs all framework services itself.
+ * With a shared runtime a single host plugin bundles the runtime and {@linkplain #host(Plugin) hosts} a frozen parent
+ * injector with all framework services which do not depend on a specific plugin. Plugins declaring a dependency on the host
+ * instead of bundling the runtime find it through the {@link ServicesManager}, and their {@link FountainPlugin}
+ * inherits those services through a child injector.</p>
+ */
+public final class SharedRuntime {
+    private final DependencyInjector injector;
+
+    private SharedRuntime(DependencyInjector injector) {
+        this.injector = injector;
+    }
+
+    /**
+     * Creates a shared runtime with all framework services that can be constructed without a plugin
+     *
+     * @param classLoader the class loader which loaded the runtime
+     * @param logger the logger to report services that could not be registered to
+     * @return the runtime
+     */
+    public static SharedRuntime create(ClassLoader classLoader, Logger logger) {
+        final var injector = new DependencyInjector();
+        ComponentIndex.load(classLoader, FountainPlugin.FRAMEWORK_PACKAGE).ifPresentOrElse(
+                index -> injector.registerFromComponentIndex(index, classLoader, logger),
+                () -> injector.registerFromAnnotations(new Reflections(
+                        new ConfigurationBuilder()
+                                .forPackage(FountainPlugin.FRAMEWORK_PACKAGE, classLoader)
+                                .addClassLoaders(classLoader)
+                                .setScanners(Scanners.TypesAnnotated)), logger));
+
+        injector.freeze(logger);
+        return new SharedRuntime(injector);
+    }
+
+    /**
+     * Creates a shared runtime and registers it as service of the hosting plugin
+     * <p>Must be invoked by the host before the plugins depending on it are loaded, ie. in its {@code onLoad}.</p>
+     *
+     * @param plugin the hosting plugin
+     * @return the runtime
+     */
+    public static SharedRuntime host(Plugin plugin) {
+        final var runtime = create(SharedRuntime.class.getClassLoader(), plugin.getLogger());
+        plugin.getServer().getServicesManager().register(SharedRuntime.class, runtime, plugin, ServicePriority.Normal);
+        return runtime;
+    }
+
+    /**
+     * Returns the shared runtime hosted on this server
+     *
+     * @param services the services manager of the server
+     * @return the runtime or {@code Optional.empty()} if no plugin hosts a runtime
+     */
+    public static Optional<SharedRuntime> lookup(ServicesManager services) {
+        return Optional.ofNullable(services.load(SharedRuntime.class));
+    }
+
+    /**
+     * Returns the frozen parent injector of the shared framework services
+     *
+     * @return the injector
+     */
+    public DependencyInjector injector() {
+        return injector;
+    }
+}
@@ -1,16 +1,34 @@
 package sh.fountain.fountain.runtime.plugin_actions;
 
+import sh.fountain.fountain.api.dependency_injection.MainThreadOnly;
 import sh.fountain.fountain.api.plugin_actions.PluginDisableAction;
 import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
 import sh.fountain.fountain.api.plugin_actions.PluginLoadAction;
+import sh.fountain.fountain.api.plugin_actions.PluginWarmupAction;
+import sh.fountain.fountain.api.plugin_actions.RunsAfter;
+import sh.fountain.fountain.runtime.component_index.PluginComponents;
 import sh.fountain.fountain.runtime.dependency_injection.DependencyInjector;
 import sh.fountain.fountain.runtime.dependency_injection.InjectionToken;
+import sh.fountain.fountain.runtime.startup.StartupTimeline;
 import org.reflections.Reflections;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.logging.Logger;
 
@@ -23,21 +41,72 @@ public class PluginActions {
     private final Set<Class<? extends PluginLoadAction>> loadActions;
     private final Set<Class<? extends PluginEnableAction>> enableActions;
     private final Set<Class<? extends PluginDisableAction>> disableActions;
+    private final Set<Class<? extends PluginWarmupAction>> warmupActions = new HashSet<>();
+    private final PluginWarmups warmups = new PluginWarmups();
     private final DependencyInjector injector;
     private final Logger logger;
+    private final Executor workers;
+    private final StartupTimeline timeline;
 
+    /**
+     * Creates plugin actions which are executed on the calling thread only
+     *
+     * @param injector the injector to request the actions from
+     * @param logger the logger to report the execution of actions to
+     */
     public PluginActions(DependencyInjector injector, Logger logger) {
+        this(injector, logger, Runnable::run);
+    }
+
+    /**
+     * Creates plugin actions whose phases run independent actions in parallel
+     *
+     * @param injector the injector to request the actions from
+     * @param logger the logger to report the execution of actions to
+     * @param workers the executor to run actions which are not {@link MainThreadOnly} on
+     */
+    public PluginActions(DependencyInjector injector, Logger logger, Executor workers) {
+        // anonymous loggers have no name
+        this(injector, logger, workers, new StartupTimeline(Objects.requireNonNullElse(logger.getName(), "plugin")));
+    }
+
+    /**
+     * Creates plugin actions whose phases run independent actions in parallel and are recorded to a timeline
+     *
+     * @param injector the injector to request the actions from
+     * @param logger the logger to report the execution of actions to
+     * @param workers the executor to run actions which are not {@link MainThreadOnly} on
+     * @param timeline the timeline to record every phase and action to
+     */
+    public PluginActions(DependencyInjector injector, Logger logger, Executor workers, StartupTimeline timeline) {
         this.loadActions = new HashSet<>();
         this.enableActions = new HashSet<>();
         this.disableActions = new HashSet<>();
         this.injector = injector;
         this.logger = logger;
+        this.workers = workers;
+        this.timeline = timeline;
     }
 
     public void registerActions(Reflections reflections) {
-        loadActions.addAll(reflections.getSubTypesOf(PluginLoadAction.class));
-        enableActions.addAll(reflections.getSubTypesOf(PluginEnableAction.class));
-        disableActions.addAll(reflections.getSubTypesOf(PluginDisableAction.class));
+        registerActions(PluginComponents.fromReflections(reflections));
+    }
+
+    public void registerActions(PluginComponents components) {
+        loadActions.addAll(components.actions(PluginLoadAction.class));
+        enableActions.addAll(components.actions(PluginEnableAction.class));
+        disableActions.addAll(components.actions(PluginDisableAction.class));
+        warmupActions.addAll(components.actions(PluginWarmupAction.class));
+        warmups.register(warmupActions);
+    }
+
+    /**
+     * Returns the progress of the warm-up actions
+     *
+     * @return the progress, available before the warm-up actions have been started
+     */
+    public PluginWarmups warmups() {
+        return warmups;
     }
 
     public void onLoad() {
@@ -52,39 +121,161 @@ public class PluginActions {
         runActionPhase("disable", disableActions, a -> a::onPluginDisable);
     }
 
+    /**
+     * Starts all warm-up actions in the background without waiting for them
+     * <p>Warm-up actions are ordered by {@link RunsAfter} like the actions of other phases,
+     * but never run on the calling thread. Their progress is tracked by {@link #warmups()}.</p>
+     *
+     * @param executor the executor to run the warm-up actions on
+     */
+    public void startWarmups(Executor executor) {
+        logger.info("Starting %s warm-up actions".formatted(warmupActions.size()));
+
+        final var allBegin = Instant.now();
+        final var phase = new Phase<>("warm-up", warmupActions, a -> a::onPluginWarmup, executor, true);
+        final var completions = phase.start().entrySet().stream()
+                .map(entry -> entry.getValue().thenAccept(failure -> warmups.completed(entry.getKey(), failure)))
+                .toArray(CompletableFuture<?>[]::new);
+
+        CompletableFuture.allOf(completions).thenRun(() -> {
+            warmups.allCompleted();
+            logger.info("Executed %s of %s warm-up actions successfully in %sms".formatted(phase.successCount.get(),
+                    warmupActions.size(), allBegin.until(Instant.now(), ChronoUnit.MILLIS)));
+        });
+    }
+
     private <T> void runActionPhase(String phaseName, Set<Class<? extends T>> actions,
             Function<T, Action> handlerMapper) {
         logger.info("Executing %s %s actions".formatted(actions.size(), phaseName));
 
-        var successCount = 0;
         final var allBegin = Instant.now();
+        final var phase = new Phase<>(phaseName, actions, handlerMapper, workers, false);
+        try (final var span = timeline.begin(phaseName + " actions")) {
+            phase.run();
+        }
+        final var allEnd = Instant.now();
+
+        logger.info("Executed %s of %s %s actions successfully in %sms".formatted(phase.successCount.get(), actions.size(),
+                phaseName, allBegin.until(allEnd, ChronoUnit.MILLIS)));
+    }
+
+    /**
+     * A single execution of the actions of a phase
+     * <p>Every action is scheduled after the actions it {@linkplain RunsAfter runs after}, either on the worker executor
+     * or, for actions annotated with {@link MainThreadOnly} of phases which are not run in the background,
+     * on the calling thread.</p>
+     */
+    private final class Phase<T> {
+        private final String name;
+        private final Set<Class<? extends T>> actions;
+        private final Function<T, Action> handlerMapper;
+        private final Executor workers;
+        private final boolean background;
+        private final Map<Class<?>, CompletableFuture<Optional<Exception>>> scheduled = new HashMap<>();
+        private final Set<Class<?>> onPath = new HashSet<>();
+        private final BlockingQueue<Runnable> mainThreadTasks = new LinkedBlockingQueue<>();
+        private final AtomicInteger successCount = new AtomicInteger();
+
+        private Phase(String name, Set<Class<? extends T>> actions, Function<T, Action> handlerMapper, Executor workers,
+                boolean background) {
+            this.name = name;
+            this.actions = actions;
+            this.handlerMapper = handlerMapper;
+            this.workers = workers;
+            this.background = background;
+        }
+
+        /**
+         * Schedules all actions without waiting for them
+         *
+         * @return the futures of the actions, completing with the failure of the action if any
+         */
+        private Map<Class<?>, CompletableFuture<Optional<Exception>>> start() {
+            actions.forEach(this::schedule);
+            return Map.copyOf(scheduled);
+        }
+
+        private void run() {
+            final var all = CompletableFuture.allOf(start().values().toArray(CompletableFuture<?>[]::new));
+            while (!all.isDone()) {
+                try {
+                    final var task = mainThreadTasks.poll(10, TimeUnit.MILLISECONDS);
+                    if (task != null) {
+                        task.run();
+                    }
 
-        for (final var action : actions) {
-            try {
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    logger.severe("Interrupted while executing %s actions".formatted(name));
+                    return;
+                }
+            }
+        }
+
+        private CompletableFuture<Optional<Exception>> schedule(Class<? extends T> action) {
+            final var existing = scheduled.get(action);
+            if (existing != null) {
+                return existing;
+            }
+
+            onPath.add(action);
+            final var predecessors = new ArrayList<CompletableFuture<Optional<Exception>>>();
+            for (final var predecessor : predecessorsOf(action)) {
+                if (onPath.contains(predecessor)) {
+                    logger.severe("Ignoring cyclic ordering of %s action %s after %s".formatted(name,
+                            action.getCanonicalName(), predecessor.getCanonicalName()));
+                    continue;
+                }
+
+                predecessors.add(schedule(predecessor));
+            }
+            onPath.remove(action);
+
+            final Executor executor = !background && action.isAnnotationPresent(MainThreadOnly.class)
+                    ? mainThreadTasks::add
+                    : workers;
+            final var future = CompletableFuture.allOf(predecessors.toArray(CompletableFuture<?>[]::new))
+                    .thenApplyAsync(v -> execute(action), executor);
+
+            scheduled.put(action, future);
+            return future;
+        }
+
+        private List<Class<? extends T>> predecessorsOf(Class<? extends T> action) {
+            final var runsAfter = action.getAnnotation(RunsAfter.class);
+            if (runsAfter == null) {
+                return List.of();
+            }
+
+            return actions.stream()
+                    .filter(other -> !other.equals(action))
+                    .filter(other -> Arrays.stream(runsAfter.value()).anyMatch(type -> type.isAssignableFrom(other)))
+                    .toList();
+        }
+
+        private Optional<Exception> execute(Class<? extends T> action) {
+            try (final var span = timeline.begin(name + " action", action.getCanonicalName())) {
                 final var actionBegin = Instant.now();
 
                 handlerMapper.apply(injector.valueFor(InjectionToken.forType(action))).run();
 
                 final var actionEnd = Instant.now();
-                ++successCount;
+                successCount.incrementAndGet();
 
                 final var executionTimeMs = actionBegin.until(actionEnd, ChronoUnit.MILLIS);
                 if (executionTimeMs >= 500) {
-                    logger.warning("%s action %s took %sms to execute"
-                            .formatted(phaseName, action.getCanonicalName(), executionTimeMs));
+                    logger.warning("%s action %s took %sms to execute on %s"
+                            .formatted(name, action.getCanonicalName(), executionTimeMs, Thread.currentThread().getName()));
                 }
 
+                return Optional.empty();
+
             } catch (Exception exception) {
                 logger.severe("Failed to execute %s action %s: %s"
-                        .formatted(phaseName, action.getCanonicalName(), exception.getMessage()));
+                        .formatted(name, action.getCanonicalName(), exception.getMessage()));
                 exception.printStackTrace();
+                return Optional.of(exception);
             }
         }
-
-        final var allEnd = Instant.now();
-
-        logger.info("Executed %s of %s %s actions successfully in %sms"
-                .formatted(successCount, actions.size(), phaseName, allBegin.until(allEnd, ChronoUnit.MILLIS)));
     }
-
 }
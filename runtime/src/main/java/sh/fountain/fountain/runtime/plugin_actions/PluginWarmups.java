@@ -0,0 +1,54 @@
+package sh.fountain.fountain.runtime.plugin_actions;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin_actions.PluginWarmupAction;
+import sh.fountain.fountain.api.plugin_actions.WarmupReadiness;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the completion of the {@link PluginWarmupAction}s of a plugin
+ * <p>The future of every warm-up action exists as soon as the action has been registered,
+ * so it may be requested before the warm-up has been started.</p>
+ */
+@Injectable(useConstructor = false)
+public final class PluginWarmups implements WarmupReadiness {
+    private final Map<Class<?>, CompletableFuture<Void>> actions = new ConcurrentHashMap<>();
+    private final CompletableFuture<Void> all = new CompletableFuture<>();
+
+    @Override
+    public CompletableFuture<Void> all() {
+        return all.copy();
+    }
+
+    @Override
+    public CompletableFuture<Void> of(Class<? extends PluginWarmupAction> action) {
+        final var future = actions.get(action);
+        if (future == null) {
+            throw new IllegalArgumentException("%s is no warm-up action".formatted(action.getCanonicalName()));
+        }
+
+        return future.copy();
+    }
+
+    void register(Collection<? extends Class<?>> warmupActions) {
+        warmupActions.forEach(action -> actions.computeIfAbsent(action, a -> new CompletableFuture<>()));
+    }
+
+    void completed(Class<?> action, Optional<Exception> failure) {
+        final var future = actions.get(action);
+        failure.ifPresentOrElse(future::completeExceptionally, () -> future.complete(null));
+    }
+
+    void allCompleted() {
+        actions.values().stream()
+                .filter(CompletableFuture::isCompletedExceptionally)
+                .findFirst()
+                .ifPresentOrElse(failed -> all.completeExceptionally(failed.handle((v, e) -> e).join()),
+                        () -> all.complete(null));
+    }
+}
@@ -1,9 +1,50 @@
 package sh.fountain.fountain.runtime.reflection;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
-
 import org.reflections.Reflections;
 
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Provides a classpath scan of the plugin and framework packages
+ * <p>The scan is only performed the first time it is requested, plugins whose components are listed in a
+ * component index never scan the classpath otherwise. Once {@linkplain #release() released} the scan may be garbage
+ * collected and is performed again when requested.</p>
+ */
 @Injectable(useConstructor = false)
-public record ReflectionsProvider(Reflections reflections) {
+public final class ReflectionsProvider {
+    private final Supplier<Reflections> scan;
+    private final Object lock = new Object();
+    private volatile Optional<Reflections> reflections = Optional.empty();
+
+    public ReflectionsProvider(Reflections reflections) {
+        this.scan = () -> reflections;
+    }
+
+    public ReflectionsProvider(Supplier<Reflections> scan) {
+        this.scan = scan;
+    }
+
+    public Reflections reflections() {
+        final var cached = reflections;
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        synchronized (lock) {
+            if (reflections.isEmpty()) {
+                reflections = Optional.of(scan.get());
+            }
+
+            return reflections.get();
+        }
+    }
+
+    /**
+     * Drops the reference to the scan, so it can be garbage collected
+     */
+    public void release() {
+        reflections = Optional.empty();
+    }
 }
@@ -0,0 +1,27 @@
+package sh.fountain.fountain.runtime.startup;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event spanning a framework phase of loading, enabling or disabling a plugin
+ */
+@Name("sh.fountain.StartupPhase")
+@Label("Fountain Startup Phase")
+@Category({"Fountain", "Startup"})
+@Description("A framework phase of loading, enabling or disabling a plugin")
+@StackTrace(false)
+final class StartupPhaseEvent extends jdk.jfr.Event {
+    @Label("Plugin")
+    String plugin;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Detail")
+    @Description("The action, package or command the phase has been executed for, if any")
+    String detail;
+}
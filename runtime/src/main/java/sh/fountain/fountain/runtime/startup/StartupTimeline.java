@@ -0,0 +1,157 @@
+package sh.fountain.fountain.runtime.startup;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Records the framework phases of a plugin, eg. the classpath scan, the registration of injectables
+ * or the execution of a plugin action
+ * <p>Every phase is emitted as {@code sh.fountain.StartupPhase} JDK Flight Recorder event, so the phases of all plugins
+ * can be inspected in a single recording. The timeline additionally keeps the phases of its plugin
+ * to summarize them once the plugin has been enabled.</p>
+ */
+@Injectable(useConstructor = false)
+public final class StartupTimeline {
+    // plugins are removed once disabled, so reloading plugins does not accumulate entries of the same runtime
+    private static final Map<String, Long> COMPLETED_PLUGINS = new ConcurrentHashMap<>();
+    private static final int SLOWEST_DETAILS = 5;
+
+    /**
+     * A recorded phase
+     *
+     * @param phase the name of the phase
+     * @param detail what the phase has been executed for, eg. the name of a plugin action
+     * @param thread the name of the thread which executed the phase
+     * @param startNanos the start of the phase relative to the creation of the timeline
+     * @param durationNanos the duration of the phase
+     */
+    public record Entry(String phase, Optional<String> detail, String thread, long startNanos, long durationNanos) {
+    }
+
+    /**
+     * A phase which is in progress until closed
+     */
+    public final class Span implements AutoCloseable {
+        private final String phase;
+        private final Optional<String> detail;
+        private final StartupPhaseEvent event = new StartupPhaseEvent();
+        private final long startNanos = System.nanoTime();
+
+        private Span(String phase, Optional<String> detail) {
+            this.phase = phase;
+            this.detail = detail;
+            event.begin();
+        }
+
+        @Override
+        public void close() {
+            final var durationNanos = System.nanoTime() - startNanos;
+            event.end();
+            if (event.shouldCommit()) {
+                event.plugin = plugin;
+                event.phase = phase;
+                event.detail = detail.orElse(null);
+                event.commit();
+            }
+
+            entries.add(new Entry(phase, detail, Thread.currentThread().getName(), startNanos - createdNanos,
+                    durationNanos));
+        }
+    }
+
+    private final String plugin;
+    private final long createdNanos = System.nanoTime();
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    public StartupTimeline(String plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+    }
+
+    /**
+     * Begins a phase
+     *
+     * @param phase the name of the phase
+     * @return the phase, must be closed once it has completed
+     */
+    public Span begin(String phase) {
+        return new Span(phase, Optional.empty());
+    }
+
+    /**
+     * Begins a phase executed for a specific element, eg. a plugin action
+     *
+     * @param phase the name of the phase
+     * @param detail the element the phase is executed for
+     * @return the phase, must be closed once it has completed
+     */
+    public Span begin(String phase, String detail) {
+        return new Span(phase, Optional.of(detail));
+    }
+
+    public String plugin() {
+        return plugin;
+    }
+
+    public List<Entry> entries() {
+        return List.copyOf(entries);
+    }
+
+    /**
+     * Marks the plugin as started and summarizes its timeline
+     * <p>The summary lists the total duration of every phase, the five slowest elements of every phase
+     * and the total startup duration of every plugin of this runtime which has been enabled and not disabled since.</p>
+     *
+     * @return the summary
+     */
+    public String complete() {
+        COMPLETED_PLUGINS.put(plugin, System.nanoTime() - createdNanos);
+
+        final var phases = entries().stream()
+                .sorted((a, b) -> Long.compare(a.startNanos(), b.startNanos()))
+                .collect(Collectors.groupingBy(Entry::phase, LinkedHashMap::new, Collectors.toList()));
+
+        final var summary = new StringBuilder("Startup timeline of %s:\n".formatted(plugin));
+        phases.forEach((phase, phaseEntries) -> {
+            summary.append("  %s %.3fms\n".formatted(phase, totalMillis(phaseEntries)));
+            final var details = phaseEntries.stream()
+                    .filter(entry -> entry.detail().isPresent())
+                    .sorted((a, b) -> Long.compare(b.durationNanos(), a.durationNanos()))
+                    .toList();
+            details.stream()
+                    .limit(SLOWEST_DETAILS)
+                    .forEach(entry -> summary.append("    %s %.3fms on %s\n".formatted(entry.detail().get(),
+                            entry.durationNanos() / 1e6, entry.thread())));
+            if (details.size() > SLOWEST_DETAILS) {
+                summary.append("    %d more\n".formatted(details.size() - SLOWEST_DETAILS));
+            }
+        });
+
+        summary.append("Startup duration per plugin:\n");
+        COMPLETED_PLUGINS.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue((a, b) -> Long.compare(b, a)))
+                .forEach(completed -> summary.append("  %s %.3fms\n".formatted(completed.getKey(),
+                        completed.getValue() / 1e6)));
+
+        return summary.toString();
+    }
+
+    /**
+     * Removes the plugin from the startup durations summarized by other plugins, once it has been disabled
+     */
+    public void discard() {
+        COMPLETED_PLUGINS.remove(plugin);
+    }
+
+    private static double totalMillis(List<Entry> entries) {
+        return entries.stream().mapToLong(Entry::durationNanos).sum() / 1e6;
+    }
+}
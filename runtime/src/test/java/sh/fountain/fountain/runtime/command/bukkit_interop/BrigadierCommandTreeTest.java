@@ -0,0 +1,88 @@
+package sh.fountain.fountain.runtime.command.bukkit_interop;
+
+import sh.fountain.fountain.api.command.SenderBinding;
+import sh.fountain.fountain.api.command.SynopsisName;
+import sh.fountain.fountain.runtime.command.model.CompositeCommandModel;
+import sh.fountain.fountain.runtime.command.model.HandlerInvoker;
+import sh.fountain.fountain.runtime.command.model.SingleCommandModel;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.EnumParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.IntegerParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.OptionalParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.StringParser;
+import com.destroystokyo.paper.brigadier.BukkitBrigadierCommand;
+import com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BrigadierCommandTreeTest {
+    public enum Team {
+        RED, BLUE
+    }
+
+    public static void join(@SenderBinding CommandSender sender, Team team, @SynopsisName("players") int players,
+            Optional<String> note) {
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a composite command with an aliased subcommand taking an enum, an int and an optional string
+            WHEN its Brigadier tree is built
+            THEN the subcommand is a literal for its name and alias
+            AND the enum constants are lowercase literals followed by a typed int argument
+            AND the optional string is a greedy argument suggested by the server
+            AND the nodes execute the Bukkit command, requiring the permission of the subcommand
+            """)
+    @SuppressWarnings("unchecked")
+    void testBuild() throws NoSuchMethodException {
+        final var handler = BrigadierCommandTreeTest.class.getMethod("join", CommandSender.class, Team.class,
+                int.class, Optional.class);
+        final var join = new SingleCommandModel("join", List.of("j"), Optional.of(0), false, Optional.of("game.join"),
+                Optional.empty(),
+                List.of(new EnumParser<>(Team.class), new IntegerParser(), new OptionalParser<>(new StringParser())),
+                List.of(Optional.empty(), Optional.empty(), Optional.empty()), s -> null, handler,
+                HandlerInvoker.bind(handler, Optional.of(0)), Optional.empty(), false);
+        final var game = new CompositeCommandModel("game", List.of(), Optional.empty(), Optional.empty(),
+                Map.of("join", join));
+
+        final BukkitBrigadierCommand<BukkitBrigadierCommandSource> bukkitCommand = mock(BukkitBrigadierCommand.class);
+        when(bukkitCommand.test(any())).thenReturn(true);
+        final var root = BrigadierCommandTree.build("minigame", game, bukkitCommand);
+
+        assertNotNull(root.getChild("j"));
+        final var joinNode = root.getChild("join");
+        final var sender = mock(CommandSender.class);
+        final var source = mock(BukkitBrigadierCommandSource.class);
+        when(source.getBukkitSender()).thenReturn(sender);
+        assertFalse(joinNode.canUse(source));
+        when(sender.hasPermission("game.join")).thenReturn(true);
+        assertTrue(joinNode.canUse(source));
+
+        assertNull(joinNode.getChild("RED"));
+        final var players = joinNode.getChild("blue").getChild("players");
+        assertInstanceOf(IntegerArgumentType.class, ((ArgumentCommandNode<?, ?>) players).getType());
+        assertSame(bukkitCommand, players.getCommand());
+
+        final var note = (ArgumentCommandNode<?, ?>) players.getChild("arg2");
+        assertInstanceOf(StringArgumentType.class, note.getType());
+        assertSame(bukkitCommand, note.getCustomSuggestions());
+        assertSame(bukkitCommand, note.getCommand());
+    }
+}
@@ -0,0 +1,49 @@
+package sh.fountain.fountain.runtime.command.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+    @Test
+    @DisplayName("""
+            GIVEN any latency
+            WHEN its bucket is computed
+            THEN the latency lies within the bucket AND the bucket's upper bound is at most 12.5% above it
+            """)
+    void testBucketBounds() {
+        final long[] latencies = {0, 7, 8, 15, 16, 1_000, 123_456, 1L << 40, Long.MAX_VALUE};
+        for (final var latency : latencies) {
+            final var bucket = LatencyHistogram.bucketOf(latency);
+            final var upperBound = LatencyHistogram.upperBound(bucket);
+
+            assertTrue(latency <= upperBound);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < latency);
+            assertTrue(upperBound - latency <= latency / 8);
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a histogram of the latencies from 1 to 1000 microseconds
+            WHEN its quantiles and maximum are read
+            THEN the quantiles are within the precision of their bucket AND the maximum is exact
+            """)
+    void testQuantiles() {
+        final var histogram = new LatencyHistogram();
+        for (var micros = 1; micros <= 1000; ++micros) {
+            histogram.record(micros * 1000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        assertEquals(1_000_000, histogram.valueAtQuantile(1));
+
+        final var median = histogram.valueAtQuantile(0.5);
+        assertTrue(median >= 500_000 && median <= 500_000 * 9 / 8);
+        final var p99 = histogram.valueAtQuantile(0.99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000);
+    }
+}
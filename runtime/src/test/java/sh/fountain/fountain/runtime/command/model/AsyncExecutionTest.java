@@ -0,0 +1,81 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncExecutionTest {
+    private final Queue<Runnable> workers = new ArrayDeque<>();
+    private final Queue<Runnable> mainThread = new ArrayDeque<>();
+    private CommandSender sender;
+
+    @BeforeEach
+    public void setup() {
+        workers.clear();
+        mainThread.clear();
+        sender = mock(CommandSender.class);
+        when(sender.getName()).thenReturn("Console");
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN an asynchronous handler allowing one invocation per sender
+            WHEN a sender invokes it twice before the first invocation completed
+            THEN the second invocation is rejected
+            AND the reply of the first invocation is sent on the main thread
+            AND the sender may invoke it again afterwards
+            """)
+    void testBoundedPerSender() throws Exception {
+        final var execution = new AsyncExecution(workers::add, mainThread::add, 1);
+
+        final var first = execution.submit(sender, () -> "Done").toCompletableFuture();
+        assertThrowsExactly(SenderBusy.class, () -> execution.submit(sender, () -> "Done"));
+
+        runAll(workers);
+        verify(sender, never()).sendMessage(anyString());
+        runAll(mainThread);
+        verify(sender).sendMessage("Done");
+        assertTrue(first.isDone());
+
+        execution.submit(sender, () -> "Again");
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a handler returning a stage which is executed directly
+            WHEN the stage completes exceptionally
+            THEN the invocation completes exceptionally on the main thread AND the sender may invoke it again
+            """)
+    void testFailedStage() throws Exception {
+        final var execution = new AsyncExecution(Runnable::run, mainThread::add, 1);
+        final var stage = new CompletableFuture<String>();
+
+        final var invocation = execution.submit(sender, () -> stage).toCompletableFuture();
+        stage.completeExceptionally(new IllegalStateException("Failed"));
+        assertFalse(invocation.isDone());
+
+        runAll(mainThread);
+        assertTrue(invocation.isCompletedExceptionally());
+        execution.submit(sender, () -> "Again");
+    }
+
+    private static void runAll(Queue<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+}
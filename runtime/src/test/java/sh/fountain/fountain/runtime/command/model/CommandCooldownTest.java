@@ -0,0 +1,94 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CommandCooldownTest {
+    private AtomicLong clock;
+    private Player player;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong();
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a cooldown of one use per second with a burst of two
+            WHEN a player uses the command three times at once AND once more after a second
+            THEN the third use is rejected with the time until the next use is refilled
+            AND the use after a second is accepted
+            """)
+    void testBurstAndRefill() throws SenderOnCooldown {
+        final var cooldown = new CommandCooldown(Duration.ofSeconds(1), 2, Optional.empty(), clock::get);
+
+        cooldown.acquire(player);
+        cooldown.acquire(player);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        final var rejected = assertThrowsExactly(SenderOnCooldown.class, () -> cooldown.acquire(player));
+        assertEquals(Duration.ofMillis(600), rejected.remaining);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        assertDoesNotThrow(() -> cooldown.acquire(player));
+        assertDoesNotThrow(() -> cooldown.acquire(mock(CommandSender.class)));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a cooldown with a bypass permission
+            WHEN a player holding the permission uses the command repeatedly
+            THEN no use is rejected AND the permission is checked once per second
+            """)
+    void testBypassPermission() {
+        final var cooldown = new CommandCooldown(Duration.ofMinutes(1), 1, Optional.of("game.nocooldown"), clock::get);
+        when(player.hasPermission("game.nocooldown")).thenReturn(true);
+
+        for (var i = 0; i < 10; ++i) {
+            assertDoesNotThrow(() -> cooldown.acquire(player));
+        }
+        verify(player, times(1)).hasPermission("game.nocooldown");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertDoesNotThrow(() -> cooldown.acquire(player));
+        verify(player, times(2)).hasPermission("game.nocooldown");
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a cooldown used by many players
+            WHEN their buckets have been refilled AND the next sweep is due
+            THEN the idle buckets are removed
+            """)
+    void testIdleBucketsExpire() throws SenderOnCooldown {
+        final var cooldown = new CommandCooldown(Duration.ofSeconds(1), 1, Optional.empty(), clock::get);
+        for (var i = 0; i < 100; ++i) {
+            final var other = mock(Player.class);
+            when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+            cooldown.acquire(other);
+        }
+        assertEquals(100, cooldown.bucketCount());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        cooldown.acquire(player);
+        assertEquals(1, cooldown.bucketCount());
+    }
+}
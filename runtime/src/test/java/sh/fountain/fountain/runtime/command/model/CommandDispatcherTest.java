@@ -0,0 +1,185 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsRegistry;
+import sh.fountain.fountain.runtime.command.parsing.ParseException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CommandDispatcherTest {
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+    private SingleCommandModel start;
+    private SingleCommandModel join;
+    private CommandSender sender;
+
+    public static void handle() {
+        INVOCATIONS.incrementAndGet();
+    }
+
+    @BeforeEach
+    public void setup() throws NoSuchMethodException {
+        start = single("start", List.of("begin"));
+        join = single("join", List.of());
+        sender = mock(CommandSender.class);
+        when(sender.hasPermission(anyString())).thenReturn(true);
+        INVOCATIONS.set(0);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a compiled tree of composite commands with aliases
+            WHEN invocations naming subcommands by name or alias in any case are resolved
+            THEN the handling single command and its depth are returned
+            AND the single command is run when dispatched
+            """)
+    void testResolve() throws Exception {
+        final var dispatcher = CommandDispatcher.compile(game(Optional.empty()));
+
+        final var startNode = dispatcher.resolve(sender, new String[] {"START"});
+        assertSame(start, dispatcher.command(startNode));
+        assertEquals(1, dispatcher.depth(startNode));
+        assertEquals(startNode, dispatcher.resolve(sender, new String[] {"Begin"}));
+
+        final var joinNode = dispatcher.resolve(sender, new String[] {"t", "JoIn"});
+        assertSame(join, dispatcher.command(joinNode));
+        assertEquals(2, dispatcher.depth(joinNode));
+
+        dispatcher.dispatch(sender, new String[] {"team", "join"});
+        assertEquals(1, INVOCATIONS.get());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a compiled tree of composite commands
+            WHEN invocations with an unknown or missing subcommand, or by an unauthorized sender are resolved
+            THEN the matching exception is thrown
+            """)
+    void testResolveFailures() {
+        final var dispatcher = CommandDispatcher.compile(game(Optional.of("game.play")));
+
+        final var unknown = assertThrowsExactly(ParseException.class,
+                () -> dispatcher.resolve(sender, new String[] {"team", "leave"}));
+        assertEquals("leave", unknown.badArg);
+        assertThrowsExactly(ParseException.class, () -> dispatcher.resolve(sender, new String[] {"team"}));
+
+        when(sender.hasPermission("game.play")).thenReturn(false);
+        assertThrowsExactly(SenderUnauthorized.class, () -> dispatcher.resolve(sender, new String[] {"start"}));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a compiled tree of composite commands recording its metrics
+            WHEN a subcommand is run, an unknown subcommand is named and an unauthorized sender invokes the tree
+            THEN the invocation and latency are recorded for the subcommand
+            AND the parse failure and permission denial are recorded for the composite commands rejecting them
+            """)
+    void testMetrics() throws Exception {
+        final var registry = new CommandMetricsRegistry();
+        final var dispatcher = CommandDispatcher.compile(game(Optional.of("game.play")), registry,
+                new PermissionSnapshotRegistry());
+
+        dispatcher.dispatch(sender, new String[] {"team", "join"});
+        assertThrowsExactly(ParseException.class, () -> dispatcher.dispatch(sender, new String[] {"team", "leave"}));
+        when(sender.hasPermission("game.play")).thenReturn(false);
+        assertThrowsExactly(SenderUnauthorized.class, () -> dispatcher.dispatch(sender, new String[] {"start"}));
+
+        final var joinMetrics = registry.of("game team join").orElseThrow();
+        assertEquals(1, joinMetrics.invocations());
+        assertEquals(1, joinMetrics.latency().count());
+        assertEquals(1, registry.of("game team").orElseThrow().parseFailures());
+        assertEquals(1, registry.of("game").orElseThrow().permissionDenials());
+        assertEquals(0, registry.of("game start").orElseThrow().invocations());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a compiled tree whose composite commands require the same permission
+            WHEN a player dispatches and completes commands repeatedly
+            THEN the player's permissions are resolved once
+            AND again after the snapshot of the player has been invalidated
+            """)
+    void testPermissionSnapshots() throws Exception {
+        final var team = new CompositeCommandModel("team", List.of("t"), Optional.of("game.play"), Optional.empty(),
+                Map.of("join", join));
+        final var game = new CompositeCommandModel("game", List.of("g"), Optional.of("game.play"), Optional.empty(),
+                Map.of("start", start, "team", team));
+        final var snapshots = new PermissionSnapshotRegistry();
+        final var dispatcher = CommandDispatcher.compile(game, new CommandMetricsRegistry(), snapshots);
+        final var player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.hasPermission("game.play")).thenReturn(true);
+
+        for (var i = 0; i < 3; ++i) {
+            dispatcher.dispatch(player, new String[] {"team", "join"});
+            assertEquals(List.of("join"), dispatcher.fuzzyTabCompletionFor(player, new String[] {"team", "jo"}));
+        }
+        assertEquals(List.of("start", "team"), dispatcher.tabCompletionFor(player, new String[] {""}).stream()
+                .sorted()
+                .toList());
+        verify(player, times(1)).hasPermission("game.play");
+
+        snapshots.invalidate(player.getUniqueId());
+        dispatcher.dispatch(player, new String[] {"start"});
+        verify(player, times(2)).hasPermission("game.play");
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a registry with the permission snapshots of two compiled trees
+            WHEN the plugin is disabled
+            THEN the registry drops both trees
+            """)
+    void testPermissionSnapshotsDroppedOnDisable() {
+        final var snapshots = new PermissionSnapshotRegistry();
+        CommandDispatcher.compile(game(Optional.of("game.play")), new CommandMetricsRegistry(), snapshots);
+        CommandDispatcher.compile(start, new CommandMetricsRegistry(), snapshots);
+        assertEquals(2, snapshots.treeCount());
+
+        snapshots.onPluginDisable();
+        assertEquals(0, snapshots.treeCount());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a composite command with two subcommands whose name and alias only differ in case
+            WHEN the command is compiled
+            THEN an exception is thrown
+            """)
+    void testAmbiguousSubcommands() throws NoSuchMethodException {
+        final var ambiguous = new CompositeCommandModel("game", List.of(), Optional.empty(), Optional.empty(),
+                Map.of("start", start, "stop", single("stop", List.of("BEGIN"))));
+
+        assertThrowsExactly(IllegalArgumentException.class, () -> CommandDispatcher.compile(ambiguous));
+    }
+
+    private CompositeCommandModel game(Optional<String> permission) {
+        final var team = new CompositeCommandModel("team", List.of("t"), Optional.empty(), Optional.empty(),
+                Map.of("join", join));
+        return new CompositeCommandModel("game", List.of("g"), permission, Optional.empty(),
+                Map.of("start", start, "team", team));
+    }
+
+    private static SingleCommandModel single(String name, List<String> aliases) throws NoSuchMethodException {
+        final var handler = CommandDispatcherTest.class.getMethod("handle");
+        return new SingleCommandModel(name, aliases, Optional.empty(), false, Optional.empty(), Optional.empty(),
+                List.of(), List.of(), s -> null, handler, HandlerInvoker.bind(handler, Optional.empty()), Optional.empty(), false);
+    }
+}
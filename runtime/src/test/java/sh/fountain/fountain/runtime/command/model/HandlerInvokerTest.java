@@ -0,0 +1,61 @@
+package sh.fountain.fountain.runtime.command.model;
+
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.mockito.Mockito.mock;
+
+public class HandlerInvokerTest {
+
+    public static class Handlers {
+        public List<Object> handle(String first, CommandSender sender, Integer second) {
+            return List.of(first, sender, second);
+        }
+
+        public static void fail() {
+            throw new IllegalStateException("Handler failed");
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN an instance handler with a sender binding between two parameters
+            WHEN the parsed arguments are written to their slots AND the handler is invoked
+            THEN the handler receives the sender and the arguments in declaration order
+            """)
+    void testSenderBinding() throws Exception {
+        final var invoker = HandlerInvoker.bind(
+                Handlers.class.getMethod("handle", String.class, CommandSender.class, Integer.class), Optional.of(1));
+        final var sender = mock(CommandSender.class);
+
+        final var arguments = invoker.newArguments(sender);
+        arguments[invoker.argumentSlot(0)] = "first";
+        arguments[invoker.argumentSlot(1)] = 2;
+
+        assertEquals(List.of("first", sender, 2), invoker.invoke(new Handlers(), arguments));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a static void handler throwing an exception
+            WHEN the handler is invoked without instance
+            THEN the exception is wrapped like by Method#invoke
+            """)
+    void testStaticHandlerException() throws Exception {
+        final var invoker = HandlerInvoker.bind(Handlers.class.getMethod("fail"), Optional.empty());
+
+        final var exception = assertThrowsExactly(InvocationTargetException.class,
+                () -> invoker.invoke(null, invoker.newArguments(mock(CommandSender.class))));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertNull(exception.getCause().getCause());
+    }
+}
@@ -0,0 +1,84 @@
+package sh.fountain.fountain.runtime.command.parsing;
+
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.CollectionParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.DoubleParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.IntegerParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.OptionalParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+public class ArgumentCursorTest {
+
+    @Test
+    @DisplayName("""
+            GIVEN a list based parser consuming two arguments
+            WHEN it parses from a cursor
+            THEN the cursor is advanced past both arguments by the adapter
+            """)
+    void testListBasedParserAdapter() throws ParseException {
+        final ArgumentParser<String> pairParser = args -> new ArgumentParser.Result<>(args.get(0) + args.get(1),
+                args.subList(2, args.size()));
+        final var cursor = new ArgumentCursor(List.of("a", "b", "c"));
+
+        assertEquals("ab", pairParser.parse(cursor));
+        assertEquals("c", cursor.next());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN an optional integer parser followed by a list of doubles
+            WHEN arguments starting with a non integer are parsed from a cursor
+            THEN the optional parser backtracks discarding the failure AND the list parser consumes all arguments
+            """)
+    void testOptionalBacktracking() throws ParseException {
+        final var cursor = new ArgumentCursor(List.of("1.5", "2"));
+
+        assertEquals(Optional.empty(), new OptionalParser<>(new IntegerParser()).parse(cursor));
+        assertFalse(cursor.failed());
+        assertEquals(List.of(1.5, 2.0), new CollectionParser<>(ArrayList::new, new DoubleParser()).parse(cursor));
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN the integer and double parsers
+            WHEN numbers are parsed from a cursor AND a list is parsed with the list based contract
+            THEN the values are parsed AND the remaining arguments are returned
+            AND malformed arguments are reported with the bad argument
+            """)
+    void testNumberParsers() throws ParseException {
+        final var cursor = new ArgumentCursor(List.of("42", "0.25", "x"));
+
+        assertEquals(42, new IntegerParser().parse(cursor));
+        assertEquals(0.25, new DoubleParser().parse(cursor));
+        final var mark = cursor.mark();
+        assertEquals("x", assertThrowsExactly(ParseException.class, () -> new IntegerParser().parse(cursor)).badArg);
+
+        cursor.reset(mark);
+        assertEquals(List.of("x"), cursor.remaining());
+        assertEquals(new ArgumentParser.Result<>(7, List.of("y")), new IntegerParser().parse(List.of("7", "y")));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a cursor over the arguments of a root command starting behind a subcommand name
+            WHEN arguments are parsed from it
+            THEN only the arguments behind the offset are parsed and remain
+            """)
+    void testOffset() throws ParseException {
+        final var cursor = new ArgumentCursor(new String[] {"sub", "7", "x"}, 1);
+
+        assertEquals(2, cursor.remainingCount());
+        assertEquals(7, new IntegerParser().parse(cursor));
+        assertEquals(List.of("x"), cursor.remaining());
+    }
+}
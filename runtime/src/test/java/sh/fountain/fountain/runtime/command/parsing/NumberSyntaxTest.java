@@ -0,0 +1,69 @@
+package sh.fountain.fountain.runtime.command.parsing;
+
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.CollectionParser;
+import sh.fountain.fountain.runtime.command.parsing.builtin_parsers.IntegerParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NumberSyntaxTest {
+
+    @Test
+    @DisplayName("""
+            GIVEN well formed and malformed integer arguments
+            WHEN they are parsed
+            THEN they are parsed like Integer.parseInt AND malformed ones yield NOT_AN_INT
+            """)
+    void testParseInt() {
+        for (final var arg : List.of("0", "42", "-42", "+7", "007", "2147483647", "-2147483648")) {
+            assertEquals(Integer.parseInt(arg), NumberSyntax.parseInt(arg), arg);
+        }
+
+        for (final var arg : List.of("", "-", "+", "x", "1x", "1.0", "2147483648", "-2147483649",
+                "99999999999999999999")) {
+            assertEquals(NumberSyntax.NOT_AN_INT, NumberSyntax.parseInt(arg), arg);
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN well formed and malformed decimal arguments
+            WHEN they are checked
+            THEN exactly the ones accepted by Double.parseDouble are doubles
+            """)
+    void testIsDouble() {
+        for (final var arg : List.of("0", "1.5", "-.5", "+5.", "1e10", "1.5E-3", "2f", "3D", "NaN", "-Infinity")) {
+            assertTrue(NumberSyntax.isDouble(arg), arg);
+            Double.parseDouble(arg);
+        }
+
+        for (final var arg : List.of("", ".", "-", "e5", "1e", "1e+", "1.5x", "NaNx", "1..5", "0x1p3")) {
+            assertFalse(NumberSyntax.isDouble(arg), arg);
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a list of integers parser
+            WHEN arguments with a malformed integer are parsed without throwing
+            THEN a failure is recorded on the cursor
+            AND converting it yields a parse exception carrying the bad argument without a stack trace
+            """)
+    void testFailureRecordedOnCursor() {
+        final var parser = new CollectionParser<>(ArrayList<Integer>::new, new IntegerParser());
+        final var cursor = new ArgumentCursor(List.of("1", "x", "3"));
+
+        parser.tryParse(cursor);
+        assertTrue(cursor.failed());
+
+        final var exception = cursor.failure();
+        assertEquals("x", exception.badArg);
+        assertEquals(0, exception.getStackTrace().length);
+    }
+}
@@ -0,0 +1,45 @@
+package sh.fountain.fountain.runtime.component_index;
+
+import sh.fountain.fountain.api.plugin_actions.PluginDisableAction;
+import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
+import sh.fountain.fountain.api.plugin_actions.PluginLoadAction;
+import sh.fountain.fountain.runtime.plugin_actions.test_package.LoadAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class PluginComponentsTest {
+    @Test
+    @DisplayName("""
+            GIVEN a package p with a component index
+            WHEN the components of p are loaded from the index AND found by scanning p
+            THEN both contain the same injectables and actions
+            AND indexed classes which do not exist anymore are reported and skipped
+            """)
+    void testIndexMatchesScan() {
+        final var logger = mock(Logger.class);
+        final var index = ComponentIndex.load(getClass().getClassLoader(), LoadAction.class.getPackageName());
+        assertTrue(index.isPresent());
+
+        final var indexed = PluginComponents.fromIndex(index.get(), getClass().getClassLoader(), logger);
+        final var scanned = PluginComponents.fromReflections(
+                new Reflections(LoadAction.class.getPackageName(), Scanners.values()));
+
+        assertEquals(scanned.injectables(), indexed.injectables());
+        assertEquals(scanned.actions(PluginLoadAction.class), indexed.actions(PluginLoadAction.class));
+        assertEquals(scanned.actions(PluginEnableAction.class), indexed.actions(PluginEnableAction.class));
+        assertEquals(scanned.actions(PluginDisableAction.class), indexed.actions(PluginDisableAction.class));
+        assertTrue(indexed.commandHandlers().isEmpty());
+        verify(logger, times(1)).severe(anyString());
+    }
+}
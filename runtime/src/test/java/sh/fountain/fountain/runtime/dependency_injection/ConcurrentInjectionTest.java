@@ -0,0 +1,219 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+import sh.fountain.fountain.api.dependency_injection.Scoped;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class ConcurrentInjectionTest {
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 50;
+
+    @Injectable
+    public static class SlowDependency {
+        private static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+
+        public SlowDependency() {
+            CONSTRUCTIONS.incrementAndGet();
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    @Injectable
+    public static class SlowSingleton {
+        private static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+
+        public SlowSingleton(SlowDependency dependency) {
+            CONSTRUCTIONS.incrementAndGet();
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    @Injectable
+    @Scoped(InjectionScope.PROTOTYPE)
+    public static class SlowPrototype {
+        private static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+
+        public SlowPrototype() {
+            CONSTRUCTIONS.incrementAndGet();
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    @Injectable
+    public static class PrototypeConsumer {
+
+        public PrototypeConsumer(SlowPrototype prototype) {
+        }
+    }
+
+    @Injectable
+    public static class CrossingFirst {
+        private static final CountDownLatch BOTH_CONSTRUCTING = new CountDownLatch(2);
+
+        public CrossingFirst(Supplier<CrossingSecond> second) throws InterruptedException {
+            BOTH_CONSTRUCTING.countDown();
+            BOTH_CONSTRUCTING.await(10, TimeUnit.SECONDS);
+            second.get();
+        }
+    }
+
+    @Injectable
+    public static class CrossingSecond {
+
+        public CrossingSecond(Supplier<CrossingFirst> first) throws InterruptedException {
+            CrossingFirst.BOTH_CONSTRUCTING.countDown();
+            CrossingFirst.BOTH_CONSTRUCTING.await(10, TimeUnit.SECONDS);
+            first.get();
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        SlowDependency.CONSTRUCTIONS.set(0);
+        SlowSingleton.CONSTRUCTIONS.set(0);
+        SlowPrototype.CONSTRUCTIONS.set(0);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector with a registered constructor for a type T depending on a type U
+            WHEN many threads request T at the same time
+            THEN T and U are constructed exactly once per injector AND every thread receives the same instance
+            """)
+    void testExactlyOnceConstruction() throws Exception {
+        assertExactlyOnce(injector -> injector.valueFor(InjectionToken.forType(SlowSingleton.class)), false);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with a registered constructor for a type T depending on a type U
+            WHEN many threads request T at the same time
+            THEN T and U are constructed exactly once per injector AND every thread receives the same instance
+            """)
+    void testExactlyOnceConstructionFrozen() throws Exception {
+        assertExactlyOnce(injector -> injector.valueFor(SlowSingleton.class), true);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with a registered constructor for a type T depending on a prototype U
+            WHEN many threads request T at the same time
+            THEN U is constructed exactly once per injector, for the only construction of T
+            """)
+    void testExactlyOnceArgumentResolutionFrozen() throws Exception {
+        final var executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            for (var round = 1; round <= ROUNDS; ++round) {
+                final var injector = new DependencyInjector();
+                injector.registerConstructor(SlowPrototype.class);
+                injector.registerConstructor(PrototypeConsumer.class);
+                injector.freeze(mock(Logger.class));
+
+                final var instances = requestConcurrently(executor, () -> injector.valueFor(PrototypeConsumer.class));
+
+                assertEquals(1, instances.stream().distinct().collect(Collectors.counting()));
+                assertEquals(round, SlowPrototype.CONSTRUCTIONS.get());
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with two types whose constructors invoke suppliers of each other
+            WHEN two threads request one type each at the same time
+            THEN both requests fail with a dependency cycle instead of deadlocking
+            """)
+    void testCrossingSupplierCycleFrozen() throws Exception {
+        final var injector = new DependencyInjector();
+        injector.registerConstructor(CrossingFirst.class);
+        injector.registerConstructor(CrossingSecond.class);
+        injector.freeze(mock(Logger.class));
+
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            final var first = executor.submit(() -> injector.valueFor(CrossingFirst.class));
+            final var second = executor.submit(() -> injector.valueFor(CrossingSecond.class));
+
+            for (final var request : List.of(first, second)) {
+                final var exception = assertThrows(ExecutionException.class, () -> request.get(10, TimeUnit.SECONDS));
+                assertInstanceOf(DependencyCycleException.class, ExceptionUtils.getRootCause(exception));
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertExactlyOnce(Function<DependencyInjector, SlowSingleton> request, boolean freeze)
+            throws Exception {
+        final var executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            for (var round = 1; round <= ROUNDS; ++round) {
+                final var injector = new DependencyInjector();
+                injector.registerConstructor(SlowDependency.class);
+                injector.registerConstructor(SlowSingleton.class);
+                if (freeze) {
+                    injector.freeze(mock(Logger.class));
+                }
+
+                final var instances = requestConcurrently(executor, () -> request.apply(injector));
+
+                assertEquals(1, instances.stream().distinct().collect(Collectors.counting()));
+                assertEquals(round, SlowSingleton.CONSTRUCTIONS.get());
+                assertEquals(round, SlowDependency.CONSTRUCTIONS.get());
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> List<T> requestConcurrently(ExecutorService executor, Callable<T> request) throws Exception {
+        final var start = new CountDownLatch(1);
+        final var results = new ArrayList<Future<T>>();
+        for (var i = 0; i < THREADS; ++i) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return request.call();
+            }));
+        }
+        start.countDown();
+
+        final var instances = new ArrayList<T>();
+        for (final var result : results) {
+            instances.add(result.get(10, TimeUnit.SECONDS));
+        }
+
+        return instances;
+    }
+}
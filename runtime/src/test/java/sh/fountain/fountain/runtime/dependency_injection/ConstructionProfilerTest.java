@@ -0,0 +1,90 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ConstructionProfilerTest {
+    private DependencyInjector injector;
+
+    @Injectable
+    public static class Leaf {
+    }
+
+    @Injectable
+    public static class Root {
+        public Root(Leaf leaf) {
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        injector = new DependencyInjector();
+        injector.registerConstructor(Leaf.class);
+        injector.registerConstructor(Root.class);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector with a disabled profiler
+            WHEN a value is requested
+            THEN no construction is recorded
+            """)
+    void testDisabled() {
+        injector.valueFor(InjectionToken.forType(Root.class));
+
+        assertTrue(injector.profiler().roots().isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector with an enabled profiler
+            WHEN a value depending on another value is requested
+            THEN the construction of the dependency is recorded as child of the construction of the value
+            AND the report contains both constructions indented by dependency path
+            """)
+    void testNestedConstructions() {
+        injector.profiler().enable();
+        injector.valueFor(InjectionToken.forType(Root.class));
+
+        assertNestedConstructions();
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with an enabled profiler
+            WHEN a value depending on another value is requested
+            THEN the construction of the dependency is recorded as child of the construction of the value
+            """)
+    void testNestedConstructionsWhenFrozen() {
+        injector.profiler().enable();
+        injector.freeze(mock(Logger.class));
+        injector.valueFor(Root.class);
+
+        assertNestedConstructions();
+    }
+
+    private void assertNestedConstructions() {
+        final var roots = injector.profiler().roots();
+        assertEquals(1, roots.size());
+
+        final var root = roots.get(0);
+        assertEquals("Constructor:" + Root.class.getName(), root.name());
+        assertEquals(1, root.children().size());
+
+        final var leaf = root.children().get(0);
+        assertEquals("Constructor:" + Leaf.class.getName(), leaf.name());
+        assertTrue(leaf.wallTimeNanos() <= root.wallTimeNanos());
+
+        final var report = injector.profiler().report();
+        assertTrue(report.contains("\nConstructor:" + Root.class.getName()));
+        assertTrue(report.contains("\n  Constructor:" + Leaf.class.getName()));
+    }
+}
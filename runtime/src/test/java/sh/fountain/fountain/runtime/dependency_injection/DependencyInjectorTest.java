@@ -1,5 +1,8 @@
 package sh.fountain.fountain.runtime.dependency_injection;
 
+import sh.fountain.fountain.runtime.component_index.ComponentIndex;
+import sh.fountain.fountain.runtime.dependency_injection.test_package_with_component_index.IndexedConsumer;
+import sh.fountain.fountain.runtime.dependency_injection.test_package_with_component_index.IndexedProviderInterface;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_cycle.ClassUsingOptionalCyclicClass;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_cycle.ClassUsingStaticClass;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_cycle.MultiParamClass;
@@ -7,13 +10,18 @@ import sh.fountain.fountain.runtime.dependency_injection.test_package_with_cycle
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_cycle.StaticClass;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_cycle.simple_cycle.FirstClass;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_cycle.trivial_cycle.CyclicClass;
+import sh.fountain.fountain.runtime.dependency_injection.test_package_with_eager_supplier_cycle.EagerSupplierFirst;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_generic_injectables.GenericProviderInterface;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_injectables.BaseClass;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_injectables.ChildClass;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_injectables.Consumer;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_injectables.ManualValue;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_injectables.ManualValueInterface;
+import sh.fountain.fountain.runtime.dependency_injection.test_package_with_injectables.Provider;
 import sh.fountain.fountain.runtime.dependency_injection.test_package_with_no_injectables.SomeClass;
+import sh.fountain.fountain.runtime.dependency_injection.test_package_with_suppliers.LazyConsumer;
+import sh.fountain.fountain.runtime.dependency_injection.test_package_with_suppliers.LazyService;
+import sh.fountain.fountain.runtime.dependency_injection.test_package_with_suppliers.SupplierCycleFirst;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -22,16 +30,22 @@ import org.junit.jupiter.api.function.Executable;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class DependencyInjectorTest {
     @Test
@@ -52,6 +66,37 @@ public class DependencyInjectorTest {
                 .valueFor(InjectionToken.forType(Consumer.class)) instanceof Consumer);
     }
 
+    @Test
+    @DisplayName("""
+            GIVEN a package p with a component index
+            WHEN the dependency injector registers p's types via the index
+            AND an instance for an indexed type T with a constructor C with Parameters of injectable types is requested
+            THEN a wellformed instance of T is returned
+            """)
+    void testRegistrationFromComponentIndex() {
+        final var index = ComponentIndex.load(getClass().getClassLoader(),
+                getClass().getPackageName() + ".test_package_with_component_index");
+        assertTrue(index.isPresent());
+
+        final var injector = new DependencyInjector();
+        injector.registerFromComponentIndex(index.get(), getClass().getClassLoader(), mock(Logger.class));
+
+        final var consumer = injector.valueFor(InjectionToken.forType(IndexedConsumer.class));
+        assertSame(injector.valueFor(InjectionToken.forType(IndexedProviderInterface.class)), consumer.provider());
+        assertSame(consumer, injector.valueFor(InjectionToken.forType(IndexedConsumer.class)));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a package p without a component index
+            WHEN the index for p is loaded
+            THEN no index is returned
+            """)
+    void testMissingComponentIndex() {
+        assertTrue(ComponentIndex.load(getClass().getClassLoader(),
+                getClass().getPackageName() + ".test_package_with_injectables").isEmpty());
+    }
+
     @Test
     @DisplayName("""
             GIVEN a dependency injector registered from a package with no injectables
@@ -167,6 +212,143 @@ public class DependencyInjectorTest {
         Assertions.assertDoesNotThrow(() -> injector.valueFor(InjectionToken.forType(NonCyclicClass.class)));
     }
 
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector registered from a package with a class graph containing cycles
+            WHEN the injector is frozen
+            THEN the cycles are reported
+            AND requesting a class depending on a cycle throws an exception
+            AND requesting a class not depending on a cycle does not
+            """)
+    void testCycleInFrozenInjector() {
+        final var reflections = new Reflections(getClass().getPackageName() + ".test_package_with_cycle",
+                Scanners.values());
+        final var logger = mock(Logger.class);
+
+        final var injector = new DependencyInjector();
+        injector.registerFromAnnotations(reflections, logger);
+        injector.freeze(logger);
+
+        verify(logger, atLeastOnce()).severe(anyString());
+        assertNotRootCause(DependencyCycleException.class, () -> injector.valueFor(InjectionToken.forType(CyclicClass.class)));
+        assertNotRootCause(DependencyCycleException.class, () -> injector.valueFor(InjectionToken.forType(FirstClass.class)));
+        assertNotRootCause(DependencyCycleException.class, () -> injector.valueFor(InjectionToken.forType(MultiParamClass.class)));
+        assertNotRootCause(DependencyCycleException.class,
+                () -> injector.valueFor(InjectionToken.forType(ClassUsingOptionalCyclicClass.class)));
+        assertDoesNotThrow(() -> injector.valueFor(NonCyclicClass.class));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector which already constructed an instance of type T
+            WHEN the injector is frozen AND an instance of T or one of its supertypes is requested
+            THEN the previously constructed instance is returned
+            """)
+    void testFrozenInjectorKeepsInstances() {
+        final var reflections = new Reflections(getClass().getPackageName() + ".test_package_with_injectables",
+                Scanners.values());
+
+        final var injector = new DependencyInjector();
+        injector.registerFromAnnotations(reflections, mock(Logger.class));
+        final var consumer = injector.valueFor(InjectionToken.forType(Consumer.class));
+        injector.freeze(mock(Logger.class));
+
+        assertSame(consumer, injector.valueFor(Consumer.class));
+        assertSame(consumer, injector.valueFor(InjectionToken.forType(Consumer.class)));
+        assertTrue(injector.valueFor(BaseClass.class) instanceof ChildClass);
+        assertSame(injector.valueFor(BaseClass.class), injector.valueFor(ChildClass.class));
+        assertTrue(injector.valueFor(new InjectionToken<Optional<Consumer>>() {
+        }).isPresent());
+        assertThrowsExactly(FailedToInjectException.class, () -> injector.valueFor(ManualValueInterface.class));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector
+            WHEN a value is registered
+            THEN an exception is thrown
+            """)
+    void testRegistrationAfterFreeze() {
+        final var injector = new DependencyInjector();
+        injector.freeze(mock(Logger.class));
+
+        assertThrowsExactly(IllegalStateException.class, () -> injector.registerValue(new ManualValue()));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector with a type T depending on a supplier of type U
+            WHEN an instance of T is requested, before and after freezing
+            THEN U is not constructed until the supplier is invoked
+            AND the supplier returns the same instance of U on every invocation
+            """)
+    void testLazySupplier() {
+        final var reflections = new Reflections(getClass().getPackageName() + ".test_package_with_suppliers",
+                Scanners.values());
+
+        for (final var freeze : List.of(false, true)) {
+            LazyService.CONSTRUCTIONS.set(0);
+            final var injector = new DependencyInjector();
+            injector.registerFromAnnotations(reflections, mock(Logger.class));
+            if (freeze) {
+                injector.freeze(mock(Logger.class));
+            }
+
+            final var consumer = injector.valueFor(InjectionToken.forType(LazyConsumer.class));
+            assertEquals(0, LazyService.CONSTRUCTIONS.get());
+
+            assertSame(consumer.service().get(), consumer.service().get());
+            assertSame(injector.valueFor(LazyService.class), consumer.service().get());
+            assertEquals(1, LazyService.CONSTRUCTIONS.get());
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector with two types depending on each other, one of them through a supplier
+            WHEN an instance of either type is requested, before and after freezing
+            THEN no exception is thrown AND the instances reference each other
+            """)
+    void testSupplierBreaksCycle() {
+        final var reflections = new Reflections(getClass().getPackageName() + ".test_package_with_suppliers",
+                Scanners.values());
+
+        for (final var freeze : List.of(false, true)) {
+            final var logger = mock(Logger.class);
+            final var injector = new DependencyInjector();
+            injector.registerFromAnnotations(reflections, logger);
+            if (freeze) {
+                injector.freeze(logger);
+            }
+
+            final var first = injector.valueFor(InjectionToken.forType(SupplierCycleFirst.class));
+            assertSame(first, first.second().first());
+            verify(logger, never()).severe(anyString());
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector with a type T whose constructor invokes a supplier of a type U depending on T
+            WHEN an instance of T is requested, before and after freezing
+            THEN a dependency cycle is reported instead of constructing T twice
+            """)
+    void testSupplierInvokedDuringConstruction() {
+        final var reflections = new Reflections(getClass().getPackageName() + ".test_package_with_eager_supplier_cycle",
+                Scanners.values());
+
+        for (final var freeze : List.of(false, true)) {
+            final var injector = new DependencyInjector();
+            injector.registerFromAnnotations(reflections, mock(Logger.class));
+            if (freeze) {
+                injector.freeze(mock(Logger.class));
+            }
+
+            assertNotRootCause(DependencyCycleException.class,
+                    () -> injector.valueFor(InjectionToken.forType(EagerSupplierFirst.class)));
+        }
+    }
+
     private void assertNotRootCause(Class<? extends Exception> causeClass, Executable executable) {
         Assertions.assertEquals(causeClass, ExceptionUtils
                 .getRootCause(Assertions.assertThrows(FailedToInjectException.class, executable)).getClass());
@@ -231,6 +413,25 @@ public class DependencyInjectorTest {
         assertThrowsExactly(ProviderCollisionException.class, () -> injector.registerValue(new ManualValue()));
     }
 
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector where a value for type T implementing injectable interface U has been registered
+            WHEN the constructors of T and further types are registered in bulk
+            THEN a single exception reporting the collisions for T and U is thrown
+            AND the further types are registered nonetheless
+            """)
+    void testBulkRegistrationCollisions() {
+        final var injector = new DependencyInjector();
+        injector.registerValue(new ManualValue());
+
+        final var exception = assertThrowsExactly(ProviderCollisionException.class,
+                () -> injector.registerConstructors(List.of(ManualValue.class, Consumer.class, Provider.class)));
+
+        assertEquals(2, exception.getSuppressed().length);
+        assertTrue(exception.getMessage().contains(InjectionToken.forType(ManualValueInterface.class).name()));
+        assertNotNull(injector.valueFor(InjectionToken.forType(Consumer.class)));
+    }
+
     @Test
     void testNoProvider() {
         final var reflections = new Reflections(getClass().getPackageName() + ".test_package_with_injectables",
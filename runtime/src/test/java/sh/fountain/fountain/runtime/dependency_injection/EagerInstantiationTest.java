@@ -0,0 +1,181 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+import sh.fountain.fountain.api.dependency_injection.MainThreadOnly;
+import sh.fountain.fountain.api.dependency_injection.Scoped;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class EagerInstantiationTest {
+    private static final Set<Class<?>> CONSTRUCTED = ConcurrentHashMap.newKeySet();
+    private static volatile Thread mainThreadComponentThread;
+
+    private ForkJoinPool pool;
+
+    @Injectable
+    public static class FirstLeaf {
+        public FirstLeaf() {
+            CONSTRUCTED.add(FirstLeaf.class);
+        }
+    }
+
+    @Injectable
+    public static class SecondLeaf {
+        public SecondLeaf() {
+            CONSTRUCTED.add(SecondLeaf.class);
+        }
+    }
+
+    @Injectable
+    @MainThreadOnly
+    public static class MainThreadComponent {
+        public MainThreadComponent(FirstLeaf leaf) {
+            mainThreadComponentThread = Thread.currentThread();
+            CONSTRUCTED.add(MainThreadComponent.class);
+        }
+    }
+
+    @Injectable
+    public static class Root {
+        public Root(FirstLeaf first, SecondLeaf second, MainThreadComponent component) {
+            CONSTRUCTED.add(Root.class);
+        }
+    }
+
+    @Injectable
+    @Scoped(InjectionScope.PROTOTYPE)
+    public static class PrototypeOfMainThreadComponent {
+        public PrototypeOfMainThreadComponent(MainThreadComponent component) {
+        }
+    }
+
+    @Injectable
+    public static class DependsOnPrototype {
+        public DependsOnPrototype(PrototypeOfMainThreadComponent prototype) {
+            CONSTRUCTED.add(DependsOnPrototype.class);
+        }
+    }
+
+    @Injectable
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("Failing on purpose");
+        }
+    }
+
+    @Injectable
+    public static class DependsOnFailing {
+        public DependsOnFailing(Failing failing) {
+            CONSTRUCTED.add(DependsOnFailing.class);
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        CONSTRUCTED.clear();
+        mainThreadComponentThread = null;
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with a dependency graph containing a main thread only type
+            WHEN all values are instantiated
+            THEN every value is constructed before returning
+            AND the main thread only type is constructed on the calling thread
+            AND later requests return the constructed values
+            """)
+    void testInstantiateAll() {
+        final var injector = new DependencyInjector();
+        injector.registerConstructor(FirstLeaf.class);
+        injector.registerConstructor(SecondLeaf.class);
+        injector.registerConstructor(MainThreadComponent.class);
+        injector.registerConstructor(Root.class);
+        injector.freeze(mock(Logger.class));
+
+        injector.instantiateAll(pool, mock(Logger.class));
+
+        assertEquals(Set.of(FirstLeaf.class, SecondLeaf.class, MainThreadComponent.class, Root.class), CONSTRUCTED);
+        assertSame(Thread.currentThread(), mainThreadComponentThread);
+
+        CONSTRUCTED.clear();
+        assertSame(injector.valueFor(Root.class), injector.valueFor(Root.class));
+        assertTrue(CONSTRUCTED.isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with a value depending on a prototype which depends on a main thread only type
+            WHEN all values are instantiated
+            THEN the main thread only type is constructed on the calling thread
+            """)
+    void testInstantiateAllThroughPrototype() {
+        final var injector = new DependencyInjector();
+        injector.registerConstructors(List.of(FirstLeaf.class, MainThreadComponent.class,
+                PrototypeOfMainThreadComponent.class, DependsOnPrototype.class));
+        injector.freeze(mock(Logger.class));
+
+        injector.instantiateAll(pool, mock(Logger.class));
+
+        assertEquals(Set.of(FirstLeaf.class, MainThreadComponent.class, DependsOnPrototype.class), CONSTRUCTED);
+        assertSame(Thread.currentThread(), mainThreadComponentThread);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with a type whose constructor throws
+            WHEN all values are instantiated
+            THEN the failure is logged once AND values depending on the failing type are not constructed
+            AND all other values are constructed
+            """)
+    void testInstantiateAllWithFailure() {
+        final var logger = mock(Logger.class);
+        final var injector = new DependencyInjector();
+        injector.registerConstructor(FirstLeaf.class);
+        injector.registerConstructor(Failing.class);
+        injector.registerConstructor(DependsOnFailing.class);
+        injector.freeze(logger);
+
+        injector.instantiateAll(pool, logger);
+
+        verify(logger, times(1)).severe(anyString());
+        assertTrue(CONSTRUCTED.contains(FirstLeaf.class));
+        assertFalse(CONSTRUCTED.contains(DependsOnFailing.class));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector which has not been frozen
+            WHEN all values are instantiated
+            THEN an exception is thrown
+            """)
+    void testInstantiateAllRequiresFreeze() {
+        final var injector = new DependencyInjector();
+
+        assertThrowsExactly(IllegalStateException.class, () -> injector.instantiateAll(pool, mock(Logger.class)));
+    }
+}
@@ -2,16 +2,43 @@ package sh.fountain.fountain.runtime.dependency_injection;
 
 import sh.fountain.fountain.api.dependency_injection.Injectable;
 
+import com.google.common.reflect.TypeParameter;
+import com.google.common.reflect.TypeToken;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class InjectionTokenTest {
 
+    public static class Payload {
+    }
+
+    private static final class ThrowawayClassLoader extends ClassLoader {
+
+        ThrowawayClassLoader() {
+            super(InjectionTokenTest.class.getClassLoader());
+        }
+
+        Class<?> define(Class<?> type) throws IOException {
+            final var file = type.getName().substring(type.getPackageName().length() + 1) + ".class";
+            try (final var bytes = type.getResourceAsStream(file)) {
+                final var code = bytes.readAllBytes();
+                return defineClass(type.getName(), code, 0, code.length);
+            }
+        }
+    }
+
     @Test
     @DisplayName("""
             GIVEN a type not annotated with injectable
@@ -45,4 +72,54 @@ public class InjectionTokenTest {
         final var token = InjectionToken.forType(Annotated.class);
         assertEquals("Type:" + Annotated.class.getName(), token.name());
     }
+
+    @Test
+    @DisplayName("""
+            GIVEN an injectable class and an injectable parameterized type
+            WHEN wrapped in injection tokens multiple times
+            THEN the same token instance is returned for equal types
+            AND the tokens are equal to tokens created via anonymous subclasses""")
+    public void testCanonicalTokens() {
+        assertSame(InjectionToken.forType(DependencyInjector.class), InjectionToken.forType(DependencyInjector.class));
+
+        final var anonymous = new InjectionToken<Optional<DependencyInjector>>() {
+        };
+        final var canonical = InjectionToken.forType(anonymous.impl().getType());
+        assertSame(canonical, InjectionToken.from(anonymous.impl()));
+        assertEquals(anonymous, canonical);
+        assertEquals(canonical, anonymous);
+        assertEquals(anonymous.hashCode(), canonical.hashCode());
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a parameterized type whose type argument has been loaded by a throwaway class loader
+            WHEN equal and identical instances of it are wrapped in injection tokens
+            AND all references to the class loader are dropped
+            THEN the tokens are canonical AND the class loader can be garbage collected""")
+    public void testInternedTokensDoNotRetainClassLoaders() throws Exception {
+        final var loader = internTokenOfThrowawayType();
+
+        for (var i = 0; i < 50 && loader.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(loader.get());
+    }
+
+    private static WeakReference<ClassLoader> internTokenOfThrowawayType() throws IOException {
+        final var loader = new ThrowawayClassLoader();
+        final var payload = loader.define(Payload.class);
+
+        assertSame(InjectionToken.forType(optionalOf(payload)), InjectionToken.forType(optionalOf(payload)));
+        final var type = optionalOf(payload);
+        assertSame(InjectionToken.forType(type), InjectionToken.forType(type));
+        return new WeakReference<>(loader);
+    }
+
+    private static <T> Type optionalOf(Class<T> type) {
+        return new TypeToken<Optional<T>>() {
+        }.where(new TypeParameter<T>() {
+        }, type).getType();
+    }
 }
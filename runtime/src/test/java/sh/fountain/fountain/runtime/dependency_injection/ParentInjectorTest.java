@@ -0,0 +1,167 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+import sh.fountain.fountain.api.dependency_injection.Scoped;
+import sh.fountain.fountain.runtime.command.bukkit_interop.PermissionSnapshotListener;
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsCommand;
+import sh.fountain.fountain.runtime.command.metrics.CommandMetricsRegistry;
+import sh.fountain.fountain.runtime.command.model.PermissionSnapshotRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ParentInjectorTest {
+    private DependencyInjector parent;
+
+    @Injectable
+    public interface SharedServiceInterface {
+    }
+
+    @Injectable
+    public static class SharedService implements SharedServiceInterface {
+    }
+
+    @Injectable
+    @Scoped(InjectionScope.PROTOTYPE)
+    public static class SharedPrototype {
+    }
+
+    @Injectable
+    public static class InjectorBound {
+        private final DependencyInjector injector;
+
+        public InjectorBound(DependencyInjector injector) {
+            this.injector = injector;
+        }
+    }
+
+    @Injectable
+    public static class Consumer {
+        private final SharedServiceInterface service;
+
+        public Consumer(SharedServiceInterface service) {
+            this.service = service;
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        parent = new DependencyInjector();
+        parent.registerConstructor(SharedService.class);
+        parent.registerConstructor(SharedPrototype.class);
+        parent.registerConstructor(InjectorBound.class);
+        parent.freeze(mock(Logger.class));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen parent injector with a singleton
+            WHEN a child injector is created AND a value depending on the singleton is requested, before and after freezing
+            THEN the singleton of the parent is injected
+            """)
+    void testInheritedSingleton() {
+        final var child = new DependencyInjector(parent);
+        child.registerConstructor(Consumer.class);
+        final var service = parent.valueFor(SharedService.class);
+
+        assertTrue(child.inherits(SharedService.class));
+        assertSame(service, child.valueFor(InjectionToken.forType(Consumer.class)).service);
+
+        child.freeze(mock(Logger.class));
+        assertSame(service, child.valueFor(SharedServiceInterface.class));
+        assertSame(service, child.valueFor(Consumer.class).service);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen parent injector with a prototype scoped type
+            WHEN the type is requested from a frozen child injector multiple times
+            THEN a new instance is returned every time
+            """)
+    void testInheritedPrototype() {
+        final var child = new DependencyInjector(parent);
+        child.freeze(mock(Logger.class));
+
+        assertNotSame(child.valueFor(SharedPrototype.class), child.valueFor(SharedPrototype.class));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen parent injector with a type depending on the injector itself
+            WHEN a child injector is created
+            THEN the type is not inherited AND the child injects itself
+            """)
+    void testInjectorBoundValuesAreNotInherited() {
+        final var child = new DependencyInjector(parent);
+
+        assertFalse(child.inherits(InjectorBound.class));
+        assertSame(child, child.valueFor(DependencyInjector.class));
+
+        child.registerConstructor(InjectorBound.class);
+        assertSame(child, child.valueFor(InjectorBound.class).injector);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen parent injector with a singleton
+            WHEN a child injector registers a provider for the same type
+            THEN the child's provider takes precedence
+            """)
+    void testChildProviderTakesPrecedence() {
+        final var child = new DependencyInjector(parent);
+        child.registerConstructor(SharedService.class);
+
+        assertFalse(child.inherits(SharedService.class));
+        assertNotSame(parent.valueFor(SharedService.class), child.valueFor(SharedServiceInterface.class));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen parent injector with a value holding plugin state AND a value depending on it
+            WHEN two child injectors are created AND each registers the value holding plugin state
+            THEN neither value is inherited AND every child constructs its own instance
+            """)
+    void testPluginStateIsNotInherited() {
+        final var runtime = new DependencyInjector();
+        runtime.registerConstructors(List.of(CommandMetricsRegistry.class, CommandMetricsCommand.class,
+                PermissionSnapshotRegistry.class, PermissionSnapshotListener.class));
+        runtime.freeze(mock(Logger.class));
+
+        final var first = new DependencyInjector(runtime);
+        final var second = new DependencyInjector(runtime);
+        for (final var child : List.of(first, second)) {
+            assertFalse(child.inherits(CommandMetricsRegistry.class));
+            assertFalse(child.inherits(CommandMetricsCommand.class));
+            assertFalse(child.inherits(PermissionSnapshotRegistry.class));
+            assertFalse(child.inherits(PermissionSnapshotListener.class));
+
+            child.registerConstructors(List.of(CommandMetricsRegistry.class, PermissionSnapshotRegistry.class));
+            child.freeze(mock(Logger.class));
+        }
+
+        assertNotSame(first.valueFor(CommandMetricsRegistry.class), second.valueFor(CommandMetricsRegistry.class));
+        assertNotSame(first.valueFor(PermissionSnapshotRegistry.class),
+                second.valueFor(PermissionSnapshotRegistry.class));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a parent injector which has not been frozen
+            WHEN a child injector is created
+            THEN an exception is thrown
+            """)
+    void testParentMustBeFrozen() {
+        assertThrowsExactly(IllegalArgumentException.class, () -> new DependencyInjector(new DependencyInjector()));
+    }
+}
@@ -0,0 +1,195 @@
+package sh.fountain.fountain.runtime.dependency_injection;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.dependency_injection.InjectionScope;
+import sh.fountain.fountain.api.dependency_injection.Scoped;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ScopedInjectionTest {
+    private DependencyInjector injector;
+
+    @Injectable
+    public static class SingletonValue {
+    }
+
+    @Injectable
+    @Scoped(InjectionScope.PROTOTYPE)
+    public static class PrototypeValue {
+        public PrototypeValue(SingletonValue singleton) {
+        }
+    }
+
+    @Injectable
+    @Scoped(value = InjectionScope.PLAYER, maximumSize = 2)
+    public static class PlayerValue {
+    }
+
+    @Injectable
+    @Scoped(InjectionScope.COMMAND_INVOCATION)
+    public static class InvocationValue {
+        private final PlayerValue playerValue;
+
+        public InvocationValue(PlayerValue playerValue) {
+            this.playerValue = playerValue;
+        }
+    }
+
+    @Injectable
+    public static class SingletonCapturingPlayerValue {
+        public SingletonCapturingPlayerValue(PlayerValue playerValue) {
+        }
+    }
+
+    @Injectable
+    @Scoped(InjectionScope.PROTOTYPE)
+    public static class PrototypeCapturingInvocationValue {
+        public PrototypeCapturingInvocationValue(InvocationValue invocationValue) {
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        injector = new DependencyInjector();
+        injector.registerConstructor(SingletonValue.class);
+        injector.registerConstructor(PrototypeValue.class);
+        injector.registerConstructor(PlayerValue.class);
+        injector.registerConstructor(InvocationValue.class);
+        injector.registerConstructor(SingletonCapturingPlayerValue.class);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector with a prototype scoped type
+            WHEN an instance of the type is requested multiple times, before and after freezing
+            THEN a new instance is returned every time
+            """)
+    void testPrototype() {
+        final var token = InjectionToken.forType(PrototypeValue.class);
+        assertNotSame(injector.valueFor(token), injector.valueFor(token));
+
+        injector.freeze(mock(Logger.class));
+        assertNotSame(injector.valueFor(token), injector.valueFor(token));
+        assertNotSame(injector.valueFor(PrototypeValue.class), injector.valueFor(PrototypeValue.class));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with a player scoped type
+            WHEN an instance of the type is requested for different players
+            THEN the same instance is returned for the same player AND different instances for different players
+            AND the instance of a player is dropped when the player is evicted
+            """)
+    void testPlayerScope() {
+        injector.freeze(mock(Logger.class));
+        final var token = InjectionToken.forType(PlayerValue.class);
+        final var first = InjectionContext.forPlayer(UUID.randomUUID());
+        final var second = InjectionContext.forPlayer(UUID.randomUUID());
+
+        final var firstValue = injector.valueFor(token, first);
+        assertSame(firstValue, injector.valueFor(token, first));
+        assertNotSame(firstValue, injector.valueFor(token, second));
+
+        injector.evictPlayer(first.player().orElseThrow());
+        assertNotSame(firstValue, injector.valueFor(token, first));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with a player scoped type with a maximum size of 2
+            WHEN instances for more than 2 players are requested
+            THEN the instance of the least recently used player is dropped
+            """)
+    void testPlayerScopeMaximumSize() {
+        injector.freeze(mock(Logger.class));
+        final var token = InjectionToken.forType(PlayerValue.class);
+        final var first = InjectionContext.forPlayer(UUID.randomUUID());
+
+        final var firstValue = injector.valueFor(token, first);
+        injector.valueFor(token, InjectionContext.forPlayer(UUID.randomUUID()));
+        injector.valueFor(token, InjectionContext.forPlayer(UUID.randomUUID()));
+
+        assertNotSame(firstValue, injector.valueFor(token, first));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with a command invocation scoped type depending on a player scoped type
+            WHEN an instance of the type is requested for different invocations of the same player
+            THEN the same instance is returned within an invocation AND different instances for different invocations
+            AND all instances share the same player scoped dependency
+            """)
+    void testCommandInvocationScope() {
+        injector.freeze(mock(Logger.class));
+        final var token = InjectionToken.forType(InvocationValue.class);
+        final var player = Optional.of(UUID.randomUUID());
+        final var first = InjectionContext.forCommandInvocation(player);
+        final var second = InjectionContext.forCommandInvocation(player);
+
+        final var firstValue = injector.valueFor(token, first);
+        assertSame(firstValue, injector.valueFor(token, first));
+        assertNotSame(firstValue, injector.valueFor(token, second));
+        assertSame(firstValue.playerValue, injector.valueFor(token, second).playerValue);
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a frozen dependency injector with player and command invocation scoped types
+            WHEN an instance of the types is requested without a player or invocation
+            OR a singleton depending on a player scoped type is requested for a player
+            THEN an exception is thrown
+            """)
+    void testOutOfScope() {
+        assertThrowsExactly(FailedToInjectException.class, () -> injector.valueFor(InjectionToken.forType(PlayerValue.class)));
+
+        injector.freeze(mock(Logger.class));
+        final var player = InjectionContext.forPlayer(UUID.randomUUID());
+
+        assertThrowsExactly(FailedToInjectException.class, () -> injector.valueFor(PlayerValue.class));
+        assertThrowsExactly(FailedToInjectException.class,
+                () -> injector.valueFor(InjectionToken.forType(InvocationValue.class), player));
+        assertThrowsExactly(FailedToInjectException.class,
+                () -> injector.valueFor(InjectionToken.forType(InvocationValue.class),
+                        InjectionContext.forCommandInvocation(Optional.empty())));
+        assertThrowsExactly(FailedToInjectException.class,
+                () -> injector.valueFor(InjectionToken.forType(SingletonCapturingPlayerValue.class), player));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a dependency injector with singleton and prototype types depending on narrower scoped types
+            WHEN the injector is frozen
+            THEN the dependencies on narrower scopes are reported AND the types can not be requested
+            AND dependencies on wider scopes are not reported
+            """)
+    void testNarrowerScopeReportedOnFreeze() {
+        injector.registerConstructor(PrototypeCapturingInvocationValue.class);
+        final var logger = mock(Logger.class);
+        injector.freeze(logger);
+
+        verify(logger).severe(contains(SingletonCapturingPlayerValue.class.getName()));
+        verify(logger).severe(contains(PrototypeCapturingInvocationValue.class.getName()));
+        verify(logger, never()).severe(contains(InvocationValue.class.getName() + " of scope"));
+
+        final var invocation = InjectionContext.forCommandInvocation(Optional.of(UUID.randomUUID()));
+        assertThrowsExactly(FailedToInjectException.class,
+                () -> injector.valueFor(InjectionToken.forType(SingletonCapturingPlayerValue.class), invocation));
+        assertThrowsExactly(FailedToInjectException.class,
+                () -> injector.valueFor(InjectionToken.forType(PrototypeCapturingInvocationValue.class), invocation));
+        assertSame(injector.valueFor(InjectionToken.forType(InvocationValue.class), invocation),
+                injector.valueFor(InjectionToken.forType(InvocationValue.class), invocation));
+    }
+}
@@ -0,0 +1,18 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_component_index;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+import java.util.Optional;
+
+@Injectable
+public class IndexedConsumer {
+    private final IndexedProviderInterface provider;
+
+    public IndexedConsumer(IndexedProviderInterface provider, Optional<IndexedProvider> maybeProvider) {
+        this.provider = provider;
+    }
+
+    public IndexedProviderInterface provider() {
+        return provider;
+    }
+}
@@ -0,0 +1,32 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_component_index;
+
+import sh.fountain.fountain.runtime.dependency_injection.ComponentFactory;
+import sh.fountain.fountain.runtime.dependency_injection.InjectionToken;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mirrors the factory the annotation processor generates for {@link IndexedConsumer}
+ */
+public final class IndexedConsumerFactory implements ComponentFactory<IndexedConsumer> {
+    @Override
+    public Class<IndexedConsumer> type() {
+        return IndexedConsumer.class;
+    }
+
+    @Override
+    public List<InjectionToken<?>> dependencies() {
+        return List.of(
+                InjectionToken.forType(IndexedProviderInterface.class),
+                new InjectionToken<Optional<IndexedProvider>>() {});
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public IndexedConsumer create(Object[] dependencies) {
+        return new IndexedConsumer(
+                (IndexedProviderInterface) dependencies[0],
+                (Optional<IndexedProvider>) dependencies[1]);
+    }
+}
@@ -0,0 +1,8 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_component_index;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+@Injectable
+public class IndexedProvider implements IndexedProviderInterface {
+
+}
@@ -0,0 +1,26 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_component_index;
+
+import sh.fountain.fountain.runtime.dependency_injection.ComponentFactory;
+import sh.fountain.fountain.runtime.dependency_injection.InjectionToken;
+
+import java.util.List;
+
+/**
+ * Mirrors the factory the annotation processor generates for {@link IndexedProvider}
+ */
+public final class IndexedProviderFactory implements ComponentFactory<IndexedProvider> {
+    @Override
+    public Class<IndexedProvider> type() {
+        return IndexedProvider.class;
+    }
+
+    @Override
+    public List<InjectionToken<?>> dependencies() {
+        return List.of();
+    }
+
+    @Override
+    public IndexedProvider create(Object[] dependencies) {
+        return new IndexedProvider();
+    }
+}
@@ -0,0 +1,18 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_eager_supplier_cycle;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+import java.util.function.Supplier;
+
+@Injectable
+public class EagerSupplierFirst {
+    private final EagerSupplierSecond second;
+
+    public EagerSupplierFirst(Supplier<EagerSupplierSecond> second) {
+        this.second = second.get();
+    }
+
+    public EagerSupplierSecond second() {
+        return second;
+    }
+}
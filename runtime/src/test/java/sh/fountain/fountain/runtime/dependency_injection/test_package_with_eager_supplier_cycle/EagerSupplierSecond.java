@@ -0,0 +1,16 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_eager_supplier_cycle;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+@Injectable
+public class EagerSupplierSecond {
+    private final EagerSupplierFirst first;
+
+    public EagerSupplierSecond(EagerSupplierFirst first) {
+        this.first = first;
+    }
+
+    public EagerSupplierFirst first() {
+        return first;
+    }
+}
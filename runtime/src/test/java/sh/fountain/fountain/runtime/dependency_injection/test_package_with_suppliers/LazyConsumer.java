@@ -0,0 +1,18 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_suppliers;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+import java.util.function.Supplier;
+
+@Injectable
+public class LazyConsumer {
+    private final Supplier<LazyService> service;
+
+    public LazyConsumer(Supplier<LazyService> service) {
+        this.service = service;
+    }
+
+    public Supplier<LazyService> service() {
+        return service;
+    }
+}
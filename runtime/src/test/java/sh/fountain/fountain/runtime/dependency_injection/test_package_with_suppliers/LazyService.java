@@ -0,0 +1,20 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_suppliers;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Injectable
+public class LazyService {
+    public static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+
+    private final int construction;
+
+    public LazyService() {
+        construction = CONSTRUCTIONS.incrementAndGet();
+    }
+
+    public int construction() {
+        return construction;
+    }
+}
@@ -0,0 +1,18 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_suppliers;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+import java.util.function.Supplier;
+
+@Injectable
+public class SupplierCycleFirst {
+    private final Supplier<SupplierCycleSecond> second;
+
+    public SupplierCycleFirst(Supplier<SupplierCycleSecond> second) {
+        this.second = second;
+    }
+
+    public SupplierCycleSecond second() {
+        return second.get();
+    }
+}
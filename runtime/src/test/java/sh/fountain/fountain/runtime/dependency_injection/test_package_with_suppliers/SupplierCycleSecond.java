@@ -0,0 +1,16 @@
+package sh.fountain.fountain.runtime.dependency_injection.test_package_with_suppliers;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+
+@Injectable
+public class SupplierCycleSecond {
+    private final SupplierCycleFirst first;
+
+    public SupplierCycleSecond(SupplierCycleFirst first) {
+        this.first = first;
+    }
+
+    public SupplierCycleFirst first() {
+        return first;
+    }
+}
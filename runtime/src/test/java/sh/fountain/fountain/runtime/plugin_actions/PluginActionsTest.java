@@ -1,18 +1,34 @@
 package sh.fountain.fountain.runtime.plugin_actions;
 
+import sh.fountain.fountain.api.plugin_actions.PluginWarmupAction;
 import sh.fountain.fountain.runtime.dependency_injection.DependencyInjector;
+import sh.fountain.fountain.runtime.plugin_actions.ordered_test_package.MainThreadAction;
+import sh.fountain.fountain.runtime.plugin_actions.ordered_test_package.OrderedAction;
+import sh.fountain.fountain.runtime.plugin_actions.ordered_test_package.SlowAction;
 import sh.fountain.fountain.runtime.plugin_actions.test_package.DisableAction;
 import sh.fountain.fountain.runtime.plugin_actions.test_package.EnableAction;
 import sh.fountain.fountain.runtime.plugin_actions.test_package.LoadAction;
+import sh.fountain.fountain.runtime.plugin_actions.warmup_test_package.CacheWarmup;
+import sh.fountain.fountain.runtime.plugin_actions.warmup_test_package.FailingWarmup;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.times;
@@ -93,4 +109,71 @@ public class PluginActionsTest {
             verify(constructor.constructed().get(0), times(1)).onPluginDisable();
         }
     }
+
+    @Test
+    @DisplayName("""
+            GIVEN a package with enable actions ordered after each other, a cyclic ordering and a main thread only action
+            WHEN the onEnable phase is executed on a worker pool
+            THEN every action is executed once AND ordered actions run after the actions they are ordered after
+            AND the main thread only action runs on the calling thread AND the cycle is reported
+            """)
+    void testParallelOrderedActions() {
+        final var pool = new ForkJoinPool(4);
+        try {
+            final var logger = mock(Logger.class);
+            final var injector = new DependencyInjector();
+            final var reflections = new Reflections(SlowAction.class.getPackageName(), Scanners.values());
+            injector.registerFromAnnotations(reflections, logger);
+            SlowAction.EXECUTED.clear();
+
+            final var actions = new PluginActions(injector, logger, pool);
+            actions.registerActions(reflections);
+            actions.onEnable();
+
+            final var executed = List.copyOf(SlowAction.EXECUTED);
+            assertEquals(5, executed.size());
+            assertEquals(5, Set.copyOf(executed).size());
+            assertTrue(executed.indexOf(SlowAction.class) < executed.indexOf(OrderedAction.class));
+            assertSame(Thread.currentThread(), MainThreadAction.thread());
+            verify(logger, times(1)).severe(anyString());
+
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a package with a warm-up action and a failing warm-up action ordered after it
+            WHEN the warm-up actions are started on a background executor
+            THEN the readiness futures complete only once the executor ran the actions
+            AND the future of the failing action and of all actions complete exceptionally
+            """)
+    void testWarmupReadiness() {
+        final var injector = new DependencyInjector();
+        final var reflections = new Reflections(CacheWarmup.class.getPackageName(), Scanners.values());
+        injector.registerFromAnnotations(reflections, mock(Logger.class));
+
+        final var actions = new PluginActions(injector, mock(Logger.class));
+        actions.registerActions(reflections);
+        final var readiness = actions.warmups();
+        final var cache = readiness.of(CacheWarmup.class);
+        final var failing = readiness.of(FailingWarmup.class);
+
+        final Queue<Runnable> background = new ArrayDeque<>();
+        actions.startWarmups(background::add);
+        assertFalse(readiness.isReady());
+        assertFalse(cache.isDone());
+
+        while (!background.isEmpty()) {
+            background.poll().run();
+        }
+
+        assertTrue(cache.isDone());
+        assertFalse(cache.isCompletedExceptionally());
+        assertTrue(failing.isCompletedExceptionally());
+        assertTrue(readiness.all().isCompletedExceptionally());
+        assertFalse(readiness.isReady());
+        assertThrowsExactly(IllegalArgumentException.class, () -> readiness.of(PluginWarmupAction.class));
+    }
 }
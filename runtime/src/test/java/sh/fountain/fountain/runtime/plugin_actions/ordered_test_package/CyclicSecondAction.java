@@ -0,0 +1,16 @@
+package sh.fountain.fountain.runtime.plugin_actions.ordered_test_package;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
+import sh.fountain.fountain.api.plugin_actions.RunsAfter;
+
+@Injectable
+@RunsAfter(CyclicFirstAction.class)
+public class CyclicSecondAction implements PluginEnableAction {
+
+    @Override
+    public void onPluginEnable() {
+        SlowAction.EXECUTED.add(CyclicSecondAction.class);
+    }
+
+}
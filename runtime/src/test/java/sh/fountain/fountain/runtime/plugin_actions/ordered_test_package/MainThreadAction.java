@@ -0,0 +1,22 @@
+package sh.fountain.fountain.runtime.plugin_actions.ordered_test_package;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.dependency_injection.MainThreadOnly;
+import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
+
+@Injectable
+@MainThreadOnly
+public class MainThreadAction implements PluginEnableAction {
+    private static volatile Thread thread;
+
+    public static Thread thread() {
+        return thread;
+    }
+
+    @Override
+    public void onPluginEnable() {
+        thread = Thread.currentThread();
+        SlowAction.EXECUTED.add(MainThreadAction.class);
+    }
+
+}
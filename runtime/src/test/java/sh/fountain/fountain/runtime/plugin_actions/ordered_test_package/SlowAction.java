@@ -0,0 +1,21 @@
+package sh.fountain.fountain.runtime.plugin_actions.ordered_test_package;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin_actions.PluginEnableAction;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Injectable
+public class SlowAction implements PluginEnableAction {
+    public static final Queue<Class<?>> EXECUTED = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void onPluginEnable() {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        EXECUTED.add(SlowAction.class);
+    }
+
+}
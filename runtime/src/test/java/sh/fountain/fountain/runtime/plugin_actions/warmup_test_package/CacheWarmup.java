@@ -0,0 +1,13 @@
+package sh.fountain.fountain.runtime.plugin_actions.warmup_test_package;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin_actions.PluginWarmupAction;
+
+@Injectable
+public class CacheWarmup implements PluginWarmupAction {
+
+    @Override
+    public void onPluginWarmup() {
+    }
+
+}
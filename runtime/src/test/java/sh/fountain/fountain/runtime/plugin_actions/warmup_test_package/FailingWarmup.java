@@ -0,0 +1,16 @@
+package sh.fountain.fountain.runtime.plugin_actions.warmup_test_package;
+
+import sh.fountain.fountain.api.dependency_injection.Injectable;
+import sh.fountain.fountain.api.plugin_actions.PluginWarmupAction;
+import sh.fountain.fountain.api.plugin_actions.RunsAfter;
+
+@Injectable
+@RunsAfter(CacheWarmup.class)
+public class FailingWarmup implements PluginWarmupAction {
+
+    @Override
+    public void onPluginWarmup() throws Exception {
+        throw new Exception("Warm-up failed");
+    }
+
+}
@@ -0,0 +1,38 @@
+package sh.fountain.fountain.runtime.reflection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class ReflectionsProviderTest {
+    @Test
+    @DisplayName("""
+            GIVEN a reflections provider with a lazy scan
+            WHEN the scan is requested multiple times, released and requested again
+            THEN the classpath is not scanned before the first request
+            AND it is scanned once until released AND scanned again afterwards
+            """)
+    void testLazyScanAndRelease() {
+        final var scans = new AtomicInteger();
+        final var provider = new ReflectionsProvider(() -> {
+            scans.incrementAndGet();
+            return mock(Reflections.class);
+        });
+
+        assertEquals(0, scans.get());
+        final var first = provider.reflections();
+        assertSame(first, provider.reflections());
+        assertEquals(1, scans.get());
+
+        provider.release();
+        assertNotSame(first, provider.reflections());
+        assertEquals(2, scans.get());
+    }
+}
@@ -0,0 +1,63 @@
+package sh.fountain.fountain.runtime.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupTimelineTest {
+
+    @Test
+    @DisplayName("""
+            GIVEN a startup timeline
+            WHEN a phase and two detailed phases of the same name are recorded AND the timeline is completed
+            THEN every phase is recorded in order of completion
+            AND the summary lists every phase, the details of the detailed phase and the plugin
+            """)
+    void testTimeline() {
+        final var timeline = new StartupTimeline("TimelinePlugin");
+        final var scan = timeline.begin("classpath scan");
+        timeline.begin("enable action", "FirstAction").close();
+        scan.close();
+        timeline.begin("enable action", "SecondAction").close();
+
+        final var entries = timeline.entries();
+        assertEquals(3, entries.size());
+        assertEquals(Optional.of("FirstAction"), entries.get(0).detail());
+        assertEquals("classpath scan", entries.get(1).phase());
+        assertEquals(Thread.currentThread().getName(), entries.get(2).thread());
+        assertTrue(entries.get(0).durationNanos() <= entries.get(1).durationNanos());
+
+        final var summary = timeline.complete();
+        assertTrue(summary.contains("\n  classpath scan "));
+        assertTrue(summary.contains("\n  enable action "));
+        assertTrue(summary.contains("\n    FirstAction "));
+        assertTrue(summary.contains("\n    SecondAction "));
+        assertTrue(summary.contains("\n  TimelinePlugin "));
+    }
+
+    @Test
+    @DisplayName("""
+            GIVEN a completed startup timeline with more detailed phases of the same name than are summarized
+            WHEN the timeline is summarized AND discarded
+            THEN only the five slowest details are listed followed by the number of omitted ones
+            AND the discarded plugin is no longer listed by other timelines
+            """)
+    void testSummaryLimits() {
+        final var timeline = new StartupTimeline("CappedPlugin");
+        for (var i = 0; i < 7; ++i) {
+            timeline.begin("listener registration", "Listener" + i).close();
+        }
+
+        final var summary = timeline.complete();
+        assertEquals(5, summary.lines().filter(line -> line.startsWith("    Listener")).count());
+        assertTrue(summary.contains("\n    2 more\n"));
+
+        timeline.discard();
+        assertFalse(new StartupTimeline("OtherPlugin").complete().contains("\n  CappedPlugin "));
+    }
+}